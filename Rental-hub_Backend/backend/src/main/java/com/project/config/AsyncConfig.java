@@ -0,0 +1,68 @@
+package com.project.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Bounded fan-out for reads (dashboard sections). On platform threads this
+    // is a pool whose caller runs the task itself when saturated; with virtual
+    // threads it is a thread per task, throttled to the same concurrency so the
+    // fan-out still can't drain the connection pool.
+    @Bean(name = "dashboardExecutor")
+    public AsyncTaskExecutor dashboardExecutor(
+            @Value("${dashboard.executor.pool-size:16}") int poolSize,
+            @Value("${dashboard.executor.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Fire-and-forget calls to other services. Small and lossy on purpose:
+    // a dropped notification only means the receiver waits for its TTL.
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("notify-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Background bulk imports. Each job is long and holds a connection per batch,
+    // so only a couple run at once; beyond the queue new jobs are rejected (503).
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ids moved from AUTO_INCREMENT to pooled sequences. MySQL has no sequences,
+ * so Hibernate keeps each one in a single-row table that starts at 1 — on a
+ * database that already has rows it would hand out ids that are taken.
+ * At startup every sequence table is moved past the highest existing id
+ * (plus one allocation, since the pooled optimizer hands out the block
+ * below the value it reads). Real sequences are left alone.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            // Subclasses of a JOINED hierarchy share the root's generator
+            if (!persister.getEntityName().equals(persister.getRootEntityName())
+                    || !(persister.getIdentifierGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(persister instanceof AbstractEntityPersister entity)) {
+                return;
+            }
+
+            DatabaseStructure structure = generator.getDatabaseStructure();
+            if (structure.isPhysicalSequence()) {
+                return;
+            }
+
+            String sequenceTable = structure.getPhysicalName().render();
+            Long maxId = jdbcTemplate.queryForObject(
+                    "select max(" + entity.getIdentifierColumnNames()[0] + ") from " + entity.getRootTableName(),
+                    Long.class);
+            if (maxId == null) {
+                return;
+            }
+
+            long floor = maxId + structure.getIncrementSize();
+            int moved = jdbcTemplate.update(
+                    "update " + sequenceTable + " set next_val = ? where next_val < ?", floor, floor);
+            if (moved > 0) {
+                log.info("Moved id sequence {} past existing id {}", sequenceTable, maxId);
+            }
+        });
+    }
+}
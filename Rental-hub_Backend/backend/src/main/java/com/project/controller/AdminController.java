@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.dto.CacheRegionStatsDTO;
+import com.project.dto.CacheStatsDTO;
 import com.project.entities.Agent;
 import com.project.entities.Customer;
 import com.project.entities.Owner;
@@ -58,9 +60,40 @@ public class AdminController {
         return "User deleted";
     }
 
+    // Revoke User's tokens
+    @PostMapping("/user/{id}/revoke")
+    public String revokeUserTokens(@PathVariable Long id) {
+        adminService.revokeUserTokens(id);
+        return "User tokens revoked";
+    }
+
     // Update User
     @PutMapping("/user/{id}")
     public User updateUser(@PathVariable Long id, @RequestBody User user) {
         return adminService.updateUser(id, user);
     }
+
+    // User-details cache hit/miss/eviction counters
+    @GetMapping("/cache/user-details")
+    public CacheStatsDTO getUserCacheStats() {
+        return adminService.getUserCacheStats();
+    }
+
+    // Hibernate second-level / query cache region counters
+    @GetMapping("/cache/hibernate")
+    public List<CacheRegionStatsDTO> getHibernateCacheStats() {
+        return adminService.getHibernateCacheStats();
+    }
+
+    // Rebuild the customer dashboard read model from the tables
+    @PostMapping("/dashboard/rebuild")
+    public String rebuildDashboards() {
+        return "Dashboard read model rebuilt for " + adminService.rebuildDashboards() + " customers";
+    }
+
+    // Rebuild the property full-text index from the table
+    @PostMapping("/search/rebuild")
+    public String rebuildSearchIndex() {
+        return "Search index rebuilt for " + adminService.rebuildSearchIndex() + " properties";
+    }
 }
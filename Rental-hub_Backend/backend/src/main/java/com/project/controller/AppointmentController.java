@@ -1,14 +1,18 @@
 package com.project.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.project.dto.AppointmentBatchResultDTO;
 import com.project.dto.AppointmentRequestDTO;
 import com.project.dto.AppointmentResponseDTO;
+import com.project.dto.HandlerAvailabilityDTO;
 import com.project.service.AppointmentService;
 
 @RestController
@@ -28,6 +32,20 @@ public class AppointmentController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // Create many at once (e.g. an open house); 200 with a result per item, failed ones included
+    @PostMapping("/batch")
+    public ResponseEntity<List<AppointmentBatchResultDTO>> createAppointments(
+            @RequestBody List<AppointmentRequestDTO> dtos) {
+        return ResponseEntity.ok(appointmentService.createAppointments(dtos));
+    }
+
+    // Cancel many at once; body is a list of appointment ids
+    @PostMapping("/batch/cancel")
+    public ResponseEntity<List<AppointmentBatchResultDTO>> cancelAppointments(
+            @RequestBody List<Long> appointmentIds) {
+        return ResponseEntity.ok(appointmentService.cancelAppointments(appointmentIds));
+    }
+
     // Update appointment
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
@@ -39,6 +57,15 @@ public class AppointmentController {
         return ResponseEntity.ok(updated);
     }
 
+    // Free viewing time: /api/appointments/availability?handlerId=&from=2026-01-05&to=2026-01-11
+    @GetMapping("/availability")
+    public ResponseEntity<HandlerAvailabilityDTO> getAvailability(
+            @RequestParam Long handlerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(appointmentService.getAvailability(handlerId, from, to));
+    }
+
     // Get all appointments
     @GetMapping
     public ResponseEntity<List<AppointmentResponseDTO>> getAllAppointments() {
@@ -1,9 +1,11 @@
 package com.project.controller;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.project.dto.CustomerDTO;
 import com.project.dto.CustomerDashboardDTO;
@@ -34,6 +36,12 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getAllCustomers());
     }
 
+    // ?ids=1,2,3 — bulk lookup for other services, one query instead of one call per id
+    @GetMapping("/batch")
+    public ResponseEntity<List<CustomerResponseDTO>> getCustomersByIds(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(customerService.getCustomersByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
         return ResponseEntity.ok(customerService.getCustomerById(id));
@@ -44,9 +52,17 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getCustomerByEmail(email));
     }
 
+    // ?fields=profile,appointments,leases,properties (default all), ?propertyLimit= caps listings
     @GetMapping("/{id}/dashboard")
-    public ResponseEntity<CustomerDashboardDTO> getDashboard(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.getCustomerDashboard(id));
+    public ResponseEntity<CustomerDashboardDTO> getDashboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(required = false) Integer propertyLimit,
+            WebRequest request) {
+        if (request.checkNotModified(customerService.getCustomerDashboardETag(id, fields))) {
+            return null;
+        }
+        return ResponseEntity.ok(customerService.getCustomerDashboard(id, fields, propertyLimit));
     }
 
     @PutMapping("/{id}")
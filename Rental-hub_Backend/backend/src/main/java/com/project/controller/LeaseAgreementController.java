@@ -2,11 +2,16 @@ package com.project.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.project.dto.LeaseAgreementRequestDTO;
 import com.project.dto.LeaseAgreementResponseDTO;
+import com.project.service.ExportService;
+import com.project.service.ExportWriter;
 import com.project.service.LeaseAgreementService;
 
 @RestController
@@ -14,9 +19,11 @@ import com.project.service.LeaseAgreementService;
 public class LeaseAgreementController {
 
     private final LeaseAgreementService leaseService;
+    private final ExportService exportService;
 
-    public LeaseAgreementController(LeaseAgreementService leaseService) {
+    public LeaseAgreementController(LeaseAgreementService leaseService, ExportService exportService) {
         this.leaseService = leaseService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -24,6 +31,24 @@ public class LeaseAgreementController {
         return ResponseEntity.ok(leaseService.createLease(dto));
     }
 
+    // Bulk import (JSON array), inserted in JDBC batches in one transaction
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> importLeases(@RequestBody List<LeaseAgreementRequestDTO> dtos) {
+        return ResponseEntity.ok(leaseService.importLeases(dtos) + " leases imported");
+    }
+
+    // Streamed full export for reporting: /api/leases/export?format=ndjson|csv
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=leases." + exportFormat.extension())
+                .body(out -> exportService.exportLeases(out, exportFormat));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LeaseAgreementResponseDTO> getLeaseById(@PathVariable Long id) {
         return ResponseEntity.ok(leaseService.getLeaseById(id));
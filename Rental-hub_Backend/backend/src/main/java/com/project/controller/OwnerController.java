@@ -1,6 +1,7 @@
 package com.project.controller;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.dto.OwnerRegisterDTO;
@@ -41,6 +43,12 @@ public class OwnerController {
         return ResponseEntity.ok(ownerService.getAllOwners());
     }
 
+    // ?ids=1,2,3 — bulk lookup for other services, one query instead of one call per id
+    @GetMapping("/batch")
+    public ResponseEntity<List<OwnerResponseDTO>> getOwnersByIds(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(ownerService.getOwnersByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OwnerResponseDTO> getOwnerById(@PathVariable Long id) {
         return ResponseEntity.ok(ownerService.getOwnerById(id));
@@ -1,12 +1,29 @@
 package com.project.controller;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.dto.BulkImportJobDTO;
+import com.project.dto.NearbyPropertyDTO;
+import com.project.dto.PropertyFacetsDTO;
+import com.project.dto.PropertyPageDTO;
 import com.project.dto.PropertyRequestDTO;
 import com.project.dto.PropertyResponseDTO;
+import com.project.dto.PropertySearchDTO;
+import com.project.dto.PropertyTextPageDTO;
+import com.project.service.ExportService;
+import com.project.service.ExportWriter;
+import com.project.service.PropertyImportService;
+import com.project.service.PropertySearchService;
 import com.project.service.PropertyService;
 
 @RestController
@@ -14,9 +31,18 @@ import com.project.service.PropertyService;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyImportService importService;
+    private final ExportService exportService;
+    private final PropertySearchService searchService;
 
-    public PropertyController(PropertyService propertyService) {
+    public PropertyController(PropertyService propertyService,
+                              PropertyImportService importService,
+                              ExportService exportService,
+                              PropertySearchService searchService) {
         this.propertyService = propertyService;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.searchService = searchService;
     }
 
     @PostMapping
@@ -24,13 +50,51 @@ public class PropertyController {
         return ResponseEntity.ok(propertyService.addProperty(dto));
     }
 
+    // Bulk import (JSON array), inserted in JDBC batches in one transaction
+    @PostMapping("/import")
+    public ResponseEntity<String> importProperties(@RequestBody List<PropertyRequestDTO> dtos) {
+        return ResponseEntity.ok(propertyService.importProperties(dtos) + " properties imported");
+    }
+
+    // Background import of a CSV (header row) or NDJSON body; poll the Location for progress and row errors
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BulkImportJobDTO> bulkImport(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        BulkImportJobDTO job = importService.startImport(body, MediaType.parseMediaType(contentType));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/properties/bulk/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<BulkImportJobDTO> bulkImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(importService.getImportJob(jobId));
+    }
+
     @GetMapping
     public ResponseEntity<List<PropertyResponseDTO>> getAllProperties() {
         return ResponseEntity.ok(propertyService.getAllProperties());
     }
 
+    // Streamed full export for reporting: /api/properties/export?format=ndjson|csv
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=properties." + exportFormat.extension())
+                .body(out -> exportService.exportProperties(out, exportFormat));
+    }
+
+    // If-None-Match with the current ETag → 304 before the property is loaded
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyResponseDTO> getById(@PathVariable Long id) {
+    public ResponseEntity<PropertyResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+        String eTag = propertyService.getPropertyETag(id);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return ResponseEntity.ok(propertyService.getPropertyById(id));
     }
     
@@ -50,10 +114,52 @@ public class PropertyController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<PropertyResponseDTO>> getAvailable() {
+    public ResponseEntity<List<PropertyResponseDTO>> getAvailable(WebRequest request) {
+        if (request.checkNotModified(propertyService.getAvailablePropertiesETag())) {
+            return null;
+        }
         return ResponseEntity.ok(propertyService.getAvailableProperties());
     }
 
+    // Paged search: /api/properties/search?minRent=&maxRent=&propertyType=&isAvailable=&ownerId=&agentId=&cursor=&size=
+    @GetMapping("/search")
+    public ResponseEntity<PropertyPageDTO> search(PropertySearchDTO criteria) {
+        return ResponseEntity.ok(propertyService.searchProperties(criteria));
+    }
+
+    // Ranked keyword search: /api/properties/search/text?q=&available=&page=&size=
+    @GetMapping("/search/text")
+    public ResponseEntity<PropertyTextPageDTO> searchText(
+            @RequestParam String q,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.searchText(q, available, page, size));
+    }
+
+    // Radius search (km), nearest first: /api/properties/nearby?lat=&lng=&radius=&maxRent=&available=&size=
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyPropertyDTO>> nearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radius,
+            @RequestParam(required = false) Double maxRent,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.searchNearby(lat, lng, radius, maxRent, available, size));
+    }
+
+    // Browse-page counts: /api/properties/facets?q=&propertyType=&available=&minRent=&maxRent=
+    @GetMapping("/facets")
+    public ResponseEntity<PropertyFacetsDTO> facets(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String propertyType,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Double minRent,
+            @RequestParam(required = false) Double maxRent) {
+        return ResponseEntity.ok(searchService.facets(q, propertyType, available, minRent, maxRent));
+    }
+
     @PutMapping("/{id}/availability")
     public ResponseEntity<PropertyResponseDTO> changeAvailability(
             @PathVariable Long id,
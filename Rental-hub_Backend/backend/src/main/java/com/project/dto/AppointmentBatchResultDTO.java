@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AppointmentBatchResultDTO {
+
+    private int index;                          // position in the request list, from 0
+    private Long appointmentId;                 // null when a create failed
+    private String status;                      // CREATED / CANCELLED / FAILED
+    private String message;                     // why the item failed
+    private AppointmentResponseDTO appointment; // set when CREATED
+}
@@ -1,5 +1,7 @@
 package com.project.dto;
 
+import java.time.LocalDateTime;
+
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
@@ -17,4 +19,8 @@ public class AppointmentRequestDTO {
     private Long ownerId;  // optional
     
     private Long agentId;  // optional
+
+    // Optional slot, both or neither; must not overlap the handler's other appointments
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
 }
@@ -17,7 +17,11 @@ public class AppointmentResponseDTO {
     private String propertyTitle;
 
     private String handledBy;   // OWNER / AGENT
+    private Long handlerId;
     private String handlerName;
 
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,14 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkImportErrorDTO {
+
+    private long row;        // 1-based data row (CSV header and blank lines not counted)
+    private String message;
+}
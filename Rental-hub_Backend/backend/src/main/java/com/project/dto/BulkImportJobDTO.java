@@ -0,0 +1,25 @@
+package com.project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkImportJobDTO {
+
+    private String jobId;
+    private String status;           // QUEUED / RUNNING / COMPLETED / FAILED
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private List<BulkImportErrorDTO> errors;
+    private boolean errorsTruncated; // more rows failed than the report keeps
+    private String message;          // set when the whole job failed
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
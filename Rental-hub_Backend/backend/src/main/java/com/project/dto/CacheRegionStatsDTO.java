@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRate;
+}
@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CacheStatsDTO {
+
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
@@ -2,18 +2,24 @@ package com.project.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)   // sections skipped via ?fields= are omitted
 public class CustomerDashboardDTO {
     private CustomerResponseDTO profile;
     private List<AppointmentResponseDTO> appointments;
     private List<LeaseAgreementResponseDTO> leases;
     private List<PropertyResponseDTO> properties;
 
-    
+    // Continue browsing via /api/properties/search?isAvailable=true&cursor=
+    private Long propertiesNextCursor;
 }
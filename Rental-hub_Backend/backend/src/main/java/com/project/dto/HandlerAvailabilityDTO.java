@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+// Free viewing time of one owner/agent, in whole slots of slotMinutes
+@Getter
+@Setter
+@AllArgsConstructor
+public class HandlerAvailabilityDTO {
+
+    private Long handlerId;
+    private int slotMinutes;
+    private List<TimeSlotDTO> free;
+}
@@ -0,0 +1,14 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class NearbyPropertyDTO {
+
+    private PropertyResponseDTO property;
+    private double distanceKm;
+}
@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PropertyFacetsDTO {
+
+    private long total;                        // listings matching the filters
+    private Map<String, Long> propertyType;    // most common first
+    private Map<String, Long> rent;            // fixed bands, e.g. "5000-10000", "50000+"
+    private Map<String, Long> availability;    // "available" / "unavailable"
+}
@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PropertyPageDTO {
+
+    private List<PropertyResponseDTO> content;
+    private int size;
+    private boolean hasNext;
+    private Long nextCursor;   // pass back as ?cursor= to fetch the next page
+}
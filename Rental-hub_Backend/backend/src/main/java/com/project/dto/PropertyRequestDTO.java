@@ -13,6 +13,8 @@ public class PropertyRequestDTO {
     private Double rentAmount;
     private String propertyType;
     private Boolean isAvailable;
+    private Double latitude;   // optional, both or neither
+    private Double longitude;
 
     private Long ownerId;
     private Long agentId; // optional
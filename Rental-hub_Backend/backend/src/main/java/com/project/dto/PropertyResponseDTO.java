@@ -15,6 +15,8 @@ public class PropertyResponseDTO {
     private Double rentAmount;
     private String propertyType;
     private Boolean isAvailable;
+    private Double latitude;
+    private Double longitude;
 
     private Long ownerId;
     private String ownerName;
@@ -0,0 +1,20 @@
+package com.project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PropertySearchDTO {
+
+    private Double minRent;
+    private Double maxRent;
+    private String propertyType;
+    private Boolean isAvailable;
+
+    private Long ownerId;
+    private Long agentId;
+
+    private Long cursor;   // last propertyId of the previous page (keyset)
+    private Integer size;
+}
@@ -0,0 +1,19 @@
+package com.project.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PropertyTextPageDTO {
+
+    private List<PropertyResponseDTO> content;   // best match first
+    private int page;
+    private int size;
+    private long totalHits;   // exact up to 1000, a lower bound beyond that
+    private boolean hasNext;
+}
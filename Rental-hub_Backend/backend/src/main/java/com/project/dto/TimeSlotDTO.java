@@ -0,0 +1,16 @@
+package com.project.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TimeSlotDTO {
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -2,6 +2,7 @@ package com.project.entities;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.*;
@@ -12,6 +13,11 @@ import lombok.*;
 @Table(name = "appointments",
        uniqueConstraints = {
            @UniqueConstraint(columnNames = {"customer_id", "property_id"})
+       },
+       indexes = {
+           // A handler's upcoming slots, loaded when their schedule is first needed
+           @Index(name = "idx_appointment_owner_start", columnList = "owner_id, start_time"),
+           @Index(name = "idx_appointment_agent_start", columnList = "agent_id, start_time")
        })
 @Getter
 @Setter
@@ -20,28 +26,39 @@ import lombok.*;
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long appointmentId;
 
+    // Optimistic lock; rows created before the column existed start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NotNull(message = "Customer is mandatory")
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
     @NotNull(message = "Property is mandatory")
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id", nullable = false)
     private Property property;
 
     // Only ONE should be present
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private Owner owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agent_id")
     private Agent agent;
 
+    // Viewing slot; both null on appointments booked without a time
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
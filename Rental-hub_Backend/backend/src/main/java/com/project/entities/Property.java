@@ -2,6 +2,9 @@ package com.project.entities;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.*;
@@ -11,15 +14,32 @@ import lombok.*;
 @Getter
 @Setter
 @Entity
-@Table(name = "properties")
+@Table(name = "properties",
+       indexes = {
+           // Composite indexes end in property_id so keyset search can seek on them
+           @Index(name = "idx_property_avail_type", columnList = "is_available, property_type, property_id"),
+           @Index(name = "idx_property_rent", columnList = "rent_amount, property_id"),
+           @Index(name = "idx_property_owner", columnList = "owner_id, property_id"),
+           @Index(name = "idx_property_agent", columnList = "agent_id, property_id")
+       })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "property")
 @AllArgsConstructor
 @NoArgsConstructor
 public class Property {
 
+    // Pooled ids keep inserts batchable; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_seq")
+    @SequenceGenerator(name = "property_seq", sequenceName = "property_seq", allocationSize = 50)
     private Long propertyId;
 
+    // Bumped on every update and behind the ETags; the default lets ddl-auto add it to existing rows
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // -----------------------------
     // Property Details
     // -----------------------------
@@ -52,6 +72,15 @@ public class Property {
     @Column(nullable = false)
     private Boolean isAvailable;
 
+    // Optional map position (both or neither); only located listings show up in nearby search
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     // -----------------------------
     // Metadata
     // -----------------------------
@@ -65,11 +94,11 @@ public class Property {
     // -----------------------------
 
     @NotNull(message = "Owner is mandatory")
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private Owner owner;
 
-    @ManyToOne(optional = true)
+    @ManyToOne(optional = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "agent_id", nullable = true)
     private Agent agent;
 
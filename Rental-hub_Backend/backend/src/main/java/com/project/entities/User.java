@@ -2,6 +2,9 @@ package com.project.entities;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.*;
@@ -12,14 +15,24 @@ import lombok.*;
 @Entity
 @Table(name = "users")
 @Inheritance(strategy = InheritanceType.JOINED)
+// One region for the whole hierarchy: owners, agents and customers are cached here
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long userId;
 
+    // Owner/agent names appear in property JSON, so this is part of its ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     private String firstName;
     private String lastName;
 
@@ -0,0 +1,12 @@
+package com.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after an agent profile is updated or deleted
+@Getter
+@AllArgsConstructor
+public class AgentEvent {
+
+    private Long agentId;
+}
@@ -0,0 +1,16 @@
+package com.project.event;
+
+import com.project.dto.AppointmentResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after an appointment is saved or deleted (appointment == null)
+@Getter
+@AllArgsConstructor
+public class AppointmentEvent {
+
+    private Long customerId;
+    private Long appointmentId;
+    private AppointmentResponseDTO appointment;
+}
@@ -0,0 +1,16 @@
+package com.project.event;
+
+import com.project.dto.CustomerResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a customer profile is updated, or with profile == null when
+// the customer was deleted or changed outside the customer service
+@Getter
+@AllArgsConstructor
+public class CustomerEvent {
+
+    private Long customerId;
+    private CustomerResponseDTO profile;
+}
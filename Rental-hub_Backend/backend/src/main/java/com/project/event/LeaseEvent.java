@@ -0,0 +1,18 @@
+package com.project.event;
+
+import com.project.dto.LeaseAgreementResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a lease is saved or deleted (lease == null).
+// previousCustomerId is set when an update moved the lease to another customer.
+@Getter
+@AllArgsConstructor
+public class LeaseEvent {
+
+    private Long customerId;
+    private Long previousCustomerId;
+    private Long leaseId;
+    private LeaseAgreementResponseDTO lease;
+}
@@ -0,0 +1,14 @@
+package com.project.event;
+
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a bulk lease import, once for the whole batch
+@Getter
+@AllArgsConstructor
+public class LeasesImportedEvent {
+
+    private Set<Long> customerIds;
+}
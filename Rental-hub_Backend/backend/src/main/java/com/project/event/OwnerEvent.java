@@ -0,0 +1,12 @@
+package com.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after an owner profile is updated or deleted
+@Getter
+@AllArgsConstructor
+public class OwnerEvent {
+
+    private Long ownerId;
+}
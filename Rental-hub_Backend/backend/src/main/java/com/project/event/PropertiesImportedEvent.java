@@ -0,0 +1,14 @@
+package com.project.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a bulk property import batch, once for the whole batch
+@Getter
+@AllArgsConstructor
+public class PropertiesImportedEvent {
+
+    private List<Long> propertyIds;
+}
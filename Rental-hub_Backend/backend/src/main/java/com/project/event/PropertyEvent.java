@@ -0,0 +1,14 @@
+package com.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after any property write (create/update/delete/availability)
+@Getter
+@AllArgsConstructor
+public class PropertyEvent {
+
+    private Long propertyId;
+    private String title;
+    private boolean titleChanged;
+}
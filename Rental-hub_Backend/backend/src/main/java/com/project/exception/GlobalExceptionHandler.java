@@ -3,8 +3,10 @@ package com.project.exception;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -35,6 +37,25 @@ public class GlobalExceptionHandler {
         return buildError(ex.getMessage(), "DUPLICATE_RESOURCE", HttpStatus.CONFLICT, request);
     }
 
+    // ================= SLOT ALREADY BOOKED =================
+    @ExceptionHandler(SlotConflictException.class)
+    public ResponseEntity<ErrorResponseDTO> handleSlotConflict(
+            SlotConflictException ex,
+            HttpServletRequest request) {
+
+        return buildError(ex.getMessage(), "SLOT_CONFLICT", HttpStatus.CONFLICT, request);
+    }
+
+    // ================= CONCURRENT UPDATE (@Version mismatch) =================
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLock(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        return buildError("The resource was modified by another request, please retry",
+                          "CONCURRENT_MODIFICATION", HttpStatus.CONFLICT, request);
+    }
+
     // ================= ACCESS DENIED (Spring Security) =================
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponseDTO> handleAccessDenied(
@@ -69,6 +90,16 @@ public class GlobalExceptionHandler {
         return buildError(ex.getMessage(), "INVALID_INPUT", HttpStatus.BAD_REQUEST, request);
     }
 
+    // ================= BUSY (executor queue full) =================
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBusy(
+            TaskRejectedException ex,
+            HttpServletRequest request) {
+
+        return buildError("Server is busy. Please try again later.",
+                "SERVICE_BUSY", HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     // ================= GENERIC =================
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGeneric(
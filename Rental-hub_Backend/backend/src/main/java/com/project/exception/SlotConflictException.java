@@ -0,0 +1,10 @@
+package com.project.exception;
+
+// The requested time overlaps another appointment of the same owner/agent
+public class SlotConflictException extends RuntimeException {
+
+    public SlotConflictException(String message) {
+        super(message);
+    }
+
+}
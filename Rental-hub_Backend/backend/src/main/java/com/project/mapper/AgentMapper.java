@@ -0,0 +1,40 @@
+package com.project.mapper;
+
+import com.project.dto.AgentRegisterDTO;
+import com.project.dto.AgentResponseDTO;
+import com.project.entities.Agent;
+
+public final class AgentMapper {
+
+    private AgentMapper() {
+    }
+
+    public static AgentResponseDTO toResponse(Agent agent) {
+        AgentResponseDTO dto = new AgentResponseDTO();
+        dto.setUserId(agent.getUserId());
+        dto.setFirstName(agent.getFirstName());
+        dto.setLastName(agent.getLastName());
+        dto.setEmail(agent.getEmail());
+        dto.setPhno(agent.getPhno());
+        dto.setAgencyName(agent.getAgencyName());
+        dto.setCommissionRate(agent.getCommissionRate());
+        return dto;
+    }
+
+    // Password is left to the service
+    public static Agent toEntity(AgentRegisterDTO dto) {
+        Agent agent = new Agent();
+        updateEntity(agent, dto);
+        return agent;
+    }
+
+    public static void updateEntity(Agent agent, AgentRegisterDTO dto) {
+        agent.setFirstName(dto.getFirstName());
+        agent.setLastName(dto.getLastName());
+        agent.setEmail(dto.getEmail());
+        agent.setPhno(dto.getPhno());
+        agent.setDob(dto.getDob());
+        agent.setAgencyName(dto.getAgencyName());
+        agent.setCommissionRate(dto.getCommissionRate());
+    }
+}
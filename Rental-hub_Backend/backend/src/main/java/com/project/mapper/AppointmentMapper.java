@@ -0,0 +1,36 @@
+package com.project.mapper;
+
+import com.project.dto.AppointmentResponseDTO;
+import com.project.entities.Appointment;
+
+public final class AppointmentMapper {
+
+    private AppointmentMapper() {
+    }
+
+    public static AppointmentResponseDTO toResponse(Appointment a) {
+        AppointmentResponseDTO dto = new AppointmentResponseDTO();
+        dto.setAppointmentId(a.getAppointmentId());
+
+        dto.setCustomerId(a.getCustomer().getUserId());
+        dto.setCustomerName(a.getCustomer().getFirstName());
+
+        dto.setPropertyId(a.getProperty().getPropertyId());
+        dto.setPropertyTitle(a.getProperty().getTitle());
+
+        if (a.getOwner() != null) {
+            dto.setHandledBy("OWNER");
+            dto.setHandlerId(a.getOwner().getUserId());
+            dto.setHandlerName(a.getOwner().getFirstName());
+        } else if (a.getAgent() != null) {
+            dto.setHandledBy("AGENT");
+            dto.setHandlerId(a.getAgent().getUserId());
+            dto.setHandlerName(a.getAgent().getFirstName());
+        }
+
+        dto.setStartTime(a.getStartTime());
+        dto.setEndTime(a.getEndTime());
+        dto.setCreatedAt(a.getCreatedAt());
+        return dto;
+    }
+}
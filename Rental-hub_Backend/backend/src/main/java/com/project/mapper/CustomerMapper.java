@@ -0,0 +1,39 @@
+package com.project.mapper;
+
+import com.project.dto.CustomerDTO;
+import com.project.dto.CustomerResponseDTO;
+import com.project.entities.Customer;
+
+public final class CustomerMapper {
+
+    private CustomerMapper() {
+    }
+
+    public static CustomerResponseDTO toResponse(Customer customer) {
+        CustomerResponseDTO dto = new CustomerResponseDTO();
+        dto.setUserId(customer.getUserId());
+        dto.setFirstName(customer.getFirstName());
+        dto.setLastName(customer.getLastName());
+        dto.setEmail(customer.getEmail());
+        dto.setPhno(customer.getPhno());
+        dto.setRole(customer.getRole());
+        dto.setDob(customer.getDob());
+        dto.setCreatedAt(customer.getCreatedAt());
+        return dto;
+    }
+
+    // Password is left to the service so it can be encoded
+    public static Customer toEntity(CustomerDTO dto) {
+        Customer customer = new Customer();
+        updateEntity(customer, dto);
+        return customer;
+    }
+
+    public static void updateEntity(Customer customer, CustomerDTO dto) {
+        customer.setFirstName(dto.getFirstName());
+        customer.setLastName(dto.getLastName());
+        customer.setEmail(dto.getEmail());
+        customer.setPhno(dto.getPhno());
+        customer.setDob(dto.getDob());
+    }
+}
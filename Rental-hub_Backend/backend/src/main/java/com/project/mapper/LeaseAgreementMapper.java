@@ -0,0 +1,35 @@
+package com.project.mapper;
+
+import com.project.dto.LeaseAgreementRequestDTO;
+import com.project.dto.LeaseAgreementResponseDTO;
+import com.project.entities.LeaseAgreement;
+
+public final class LeaseAgreementMapper {
+
+    private LeaseAgreementMapper() {
+    }
+
+    public static LeaseAgreementResponseDTO toResponse(LeaseAgreement lease) {
+        LeaseAgreementResponseDTO dto = new LeaseAgreementResponseDTO();
+        dto.setLeaseId(lease.getLeaseId());
+        dto.setPropertyId(lease.getProperty().getPropertyId());
+        dto.setCustomerUserId(lease.getCustomer().getUserId());
+        dto.setOwnerUserId(lease.getOwner() != null ? lease.getOwner().getUserId() : null);
+        dto.setStartDate(lease.getStartDate());
+        dto.setEndDate(lease.getEndDate());
+        dto.setMonthlyRent(lease.getMonthlyRent());
+        dto.setSecurityDeposit(lease.getSecurityDeposit());
+        dto.setIsSigned(lease.getIsSigned());
+        dto.setCreatedAt(lease.getCreatedAt());
+        return dto;
+    }
+
+    // Property, customer and owner are resolved by the service
+    public static void updateEntity(LeaseAgreement lease, LeaseAgreementRequestDTO dto) {
+        lease.setStartDate(dto.getStartDate());
+        lease.setEndDate(dto.getEndDate());
+        lease.setMonthlyRent(dto.getMonthlyRent());
+        lease.setSecurityDeposit(dto.getSecurityDeposit());
+        lease.setIsSigned(dto.getIsSigned());
+    }
+}
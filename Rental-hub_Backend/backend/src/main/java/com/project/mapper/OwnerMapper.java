@@ -0,0 +1,40 @@
+package com.project.mapper;
+
+import com.project.dto.OwnerRegisterDTO;
+import com.project.dto.OwnerResponseDTO;
+import com.project.entities.Owner;
+
+public final class OwnerMapper {
+
+    private OwnerMapper() {
+    }
+
+    public static OwnerResponseDTO toResponse(Owner owner) {
+        OwnerResponseDTO dto = new OwnerResponseDTO();
+        dto.setUserId(owner.getUserId());
+        dto.setFirstName(owner.getFirstName());
+        dto.setLastName(owner.getLastName());
+        dto.setEmail(owner.getEmail());
+        dto.setPhno(owner.getPhno());
+        dto.setDob(owner.getDob());
+        dto.setVerifiedStatus(owner.getVerifiedStatus());
+        dto.setRole(owner.getRole() != null ? owner.getRole().name() : null);
+        return dto;
+    }
+
+    // Password, role and verification are left to the service
+    public static Owner toEntity(OwnerRegisterDTO dto) {
+        Owner owner = new Owner();
+        owner.setEmail(dto.getEmail());
+        updateEntity(owner, dto);
+        return owner;
+    }
+
+    // Email is the login id and is not changed on update
+    public static void updateEntity(Owner owner, OwnerRegisterDTO dto) {
+        owner.setFirstName(dto.getFirstName());
+        owner.setLastName(dto.getLastName());
+        owner.setPhno(dto.getPhno());
+        owner.setDob(dto.getDob());
+    }
+}
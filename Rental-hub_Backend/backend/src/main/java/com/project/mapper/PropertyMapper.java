@@ -0,0 +1,52 @@
+package com.project.mapper;
+
+import com.project.dto.PropertyRequestDTO;
+import com.project.dto.PropertyResponseDTO;
+import com.project.entities.Property;
+
+// Plain field copies — replaces the reflective ModelMapper path for properties
+public final class PropertyMapper {
+
+    private PropertyMapper() {
+    }
+
+    public static PropertyResponseDTO toResponse(Property property) {
+        PropertyResponseDTO dto = new PropertyResponseDTO();
+        dto.setPropertyId(property.getPropertyId());
+        dto.setTitle(property.getTitle());
+        dto.setDescription(property.getDescription());
+        dto.setAddress(property.getAddress());
+        dto.setRentAmount(property.getRentAmount());
+        dto.setPropertyType(property.getPropertyType());
+        dto.setIsAvailable(property.getIsAvailable());
+        dto.setLatitude(property.getLatitude());
+        dto.setLongitude(property.getLongitude());
+
+        dto.setOwnerId(property.getOwner().getUserId());
+        dto.setOwnerName(property.getOwner().getFirstName());
+
+        if (property.getAgent() != null) {
+            dto.setAgentId(property.getAgent().getUserId());
+            dto.setAgentName(property.getAgent().getFirstName());
+        }
+        return dto;
+    }
+
+    // Owner/agent are resolved by the service
+    public static Property toEntity(PropertyRequestDTO dto) {
+        Property property = new Property();
+        updateEntity(property, dto);
+        return property;
+    }
+
+    public static void updateEntity(Property property, PropertyRequestDTO dto) {
+        property.setTitle(dto.getTitle());
+        property.setDescription(dto.getDescription());
+        property.setAddress(dto.getAddress());
+        property.setRentAmount(dto.getRentAmount());
+        property.setPropertyType(dto.getPropertyType());
+        property.setIsAvailable(dto.getIsAvailable());
+        property.setLatitude(dto.getLatitude());
+        property.setLongitude(dto.getLongitude());
+    }
+}
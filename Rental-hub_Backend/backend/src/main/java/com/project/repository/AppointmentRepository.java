@@ -1,7 +1,17 @@
 package com.project.repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 import com.project.entities.Appointment;
 
@@ -12,8 +22,57 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             Long propertyId
     );
 
+    // (customer, property) pairs already booked, for a whole batch at once; the
+    // IN lists may match pairs nobody asked for, the caller picks its own
+    interface BookedPair {
+        Long getCustomerId();
+        Long getPropertyId();
+    }
+
+    @Query("""
+            SELECT a.customer.userId AS customerId, a.property.propertyId AS propertyId
+            FROM Appointment a
+            WHERE a.customer.userId IN :customerIds AND a.property.propertyId IN :propertyIds
+            """)
+    List<BookedPair> findBookedPairs(@Param("customerIds") Collection<Long> customerIds,
+                                     @Param("propertyIds") Collection<Long> propertyIds);
+
+    // List reads join everything AppointmentMapper reads, so each is a single select
+    @Override
+    @EntityGraph(attributePaths = {"customer", "property", "owner", "agent"})
+    List<Appointment> findAll();
+
+    @EntityGraph(attributePaths = {"customer", "property", "owner", "agent"})
     List<Appointment> findByCustomerUserId(Long customerUserid);
+
+    @EntityGraph(attributePaths = {"customer", "property", "owner", "agent"})
     List<Appointment> findByAgentUserId(Long agentId);
+
+    @EntityGraph(attributePaths = {"customer", "property", "owner", "agent"})
     List<Appointment> findByOwnerUserId(Long ownerUserid);
 
+    // Streaming read for batch jobs; must be consumed inside a transaction
+    @EntityGraph(attributePaths = {"customer", "property", "owner", "agent"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Appointment a")
+    Stream<Appointment> streamAll();
+
+    // A handler's timed appointments that have not ended yet
+    interface SlotColumns {
+        Long getId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+
+    // No auto-flush: the slot index must not see this transaction's unflushed changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("""
+            SELECT a.appointmentId AS id, a.startTime AS startTime, a.endTime AS endTime
+            FROM Appointment a LEFT JOIN a.owner o LEFT JOIN a.agent g
+            WHERE (o.userId = :handlerId OR g.userId = :handlerId)
+              AND a.startTime IS NOT NULL AND a.endTime > :after
+            """)
+    List<SlotColumns> findSlotsEndingAfter(@Param("handlerId") Long handlerId,
+                                           @Param("after") LocalDateTime after);
+
 }
@@ -1,13 +1,24 @@
 package com.project.repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.project.entities.Customer;
 
+import jakarta.persistence.QueryHint;
+
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Streaming read for batch jobs; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Customer c")
+    Stream<Customer> streamAll();
 }
 
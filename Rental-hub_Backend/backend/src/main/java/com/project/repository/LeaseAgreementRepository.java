@@ -1,11 +1,24 @@
 package com.project.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import com.project.entities.LeaseAgreement;
 
+import jakarta.persistence.QueryHint;
+
 public interface LeaseAgreementRepository extends JpaRepository<LeaseAgreement, Long> {
 
     List<LeaseAgreement> findByCustomerUserId(Long userId);  // ✅ CORRECT
+
+    // Streaming read for batch jobs and exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l FROM LeaseAgreement l ORDER BY l.leaseId")
+    Stream<LeaseAgreement> streamAll();
     
 }
@@ -1,18 +1,147 @@
 package com.project.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import com.project.entities.Property;
 
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
 
+    // List reads join owner/agent up front so DTO mapping doesn't lazy-load per row
+    @Override
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    List<Property> findAll();
+
+    // Query-cached: the result is dropped whenever any property row changes
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "property-queries")})
     List<Property> findByIsAvailableTrue();
 
     // Owner extends User → use id
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "property-queries")})
     List<Property> findByOwnerUserId(Long ownerId);
 
     // Agent extends User → use id
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "property-queries")})
     List<Property> findByAgentUserId(Long agentId);
-    
+
+    // Loads a page of search hits (ids come from the full-text index)
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    List<Property> findByPropertyIdIn(Collection<Long> ids);
+
+    // Keyset (seek) search: up to limit rows after the cursor id, ordered by id.
+    // Only the filters that are set become predicates, so each combination
+    // gets its own statement and plan instead of one catch-all query.
+    default List<Property> searchAfter(Long cursor, Double minRent, Double maxRent, String propertyType,
+                                       Boolean isAvailable, Long ownerId, Long agentId, int limit) {
+        Specification<Property> spec = (root, query, cb) -> {
+            root.fetch("owner");
+            root.fetch("agent", JoinType.LEFT);
+
+            List<Predicate> where = new ArrayList<>();
+            if (cursor != null) {
+                where.add(cb.greaterThan(root.get("propertyId"), cursor));
+            }
+            if (minRent != null) {
+                where.add(cb.greaterThanOrEqualTo(root.get("rentAmount"), minRent));
+            }
+            if (maxRent != null) {
+                where.add(cb.lessThanOrEqualTo(root.get("rentAmount"), maxRent));
+            }
+            if (propertyType != null) {
+                where.add(cb.equal(root.get("propertyType"), propertyType));
+            }
+            if (isAvailable != null) {
+                where.add(cb.equal(root.get("isAvailable"), isAvailable));
+            }
+            if (ownerId != null) {
+                where.add(cb.equal(root.get("owner").get("userId"), ownerId));
+            }
+            if (agentId != null) {
+                where.add(cb.equal(root.get("agent").get("userId"), agentId));
+            }
+            query.orderBy(cb.asc(root.get("propertyId")));
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+        return findBy(spec, q -> q.limit(limit).all());
+    }
+
+    // Streaming read for exports; must be consumed inside a transaction
+    @EntityGraph(attributePaths = {"owner", "agent"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Property p ORDER BY p.propertyId")
+    Stream<Property> streamAll();
+
+    // Just the columns the bitmap index filters on
+    interface FilterColumns {
+        Long getId();
+        String getType();
+        Double getRent();
+        Boolean getAvailable();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT p.propertyId AS id, p.propertyType AS type, p.rentAmount AS rent, p.isAvailable AS available
+            FROM Property p
+            """)
+    Stream<FilterColumns> streamFilterColumns();
+
+    @Query("""
+            SELECT p.propertyId AS id, p.propertyType AS type, p.rentAmount AS rent, p.isAvailable AS available
+            FROM Property p
+            WHERE p.propertyId IN :ids
+            """)
+    List<FilterColumns> findFilterColumnsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Everything a property's JSON depends on, folded into a few sums: any
+    // update bumps a version, and a row joining or leaving a set moves the
+    // count or the id-weighted sum. Read as scalars, so no entity is loaded.
+    interface VersionVector {
+        Long getRows();
+        Long getVersions();
+        Long getWeighted();
+        Long getUserVersions();
+    }
+
+    @Query("""
+            SELECT COUNT(p) AS rows, SUM(p.version) AS versions,
+                   SUM(p.propertyId * (p.version + 1)) AS weighted,
+                   SUM(o.version + COALESCE(a.version, 0)) AS userVersions
+            FROM Property p JOIN p.owner o LEFT JOIN p.agent a
+            WHERE p.propertyId = :id
+            """)
+    VersionVector versionVectorById(@Param("id") Long id);
+
+    @Query("""
+            SELECT COUNT(p) AS rows, SUM(p.version) AS versions,
+                   SUM(p.propertyId * (p.version + 1)) AS weighted,
+                   SUM(o.version + COALESCE(a.version, 0)) AS userVersions
+            FROM Property p JOIN p.owner o LEFT JOIN p.agent a
+            WHERE p.isAvailable = true
+            """)
+    VersionVector versionVectorOfAvailable();
 }
@@ -24,6 +24,13 @@ public class CustomUserDetails implements UserDetails {
         );
     }
 
+    // Stateless mode: principal rebuilt from signed token claims, no DB row
+    public CustomUserDetails(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority(role));
+    }
+
     public Long getId() {
         return id;
     }
@@ -3,15 +3,20 @@ package com.project.security;
 import java.io.IOException;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.project.service.CustomUserDetailsService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,11 +27,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    // true → trust the signed claims and skip the per-request user lookup
+    private final boolean stateless;
 
     public JwtAuthFilter(JwtUtil jwtUtil,
-                         CustomUserDetailsService userDetailsService) {
+                         CustomUserDetailsService userDetailsService,
+                         TokenRevocationList revocationList,
+                         @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.stateless = stateless;
     }
 
     @Override
@@ -38,33 +51,39 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = authHeader.substring(7);
-        String email = jwtUtil.extractUsername(token);
-
-        if (email != null &&
-            SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Signature and expiry are verified exactly once here
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired token → continue unauthenticated
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            var userDetails = userDetailsService.loadUserByUsername(email);
+        String email = claims.getSubject();
+        // Role claim already includes the ROLE_ prefix
+        String role = claims.get("role", String.class);
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+        if (email != null && role != null) {
 
-                // Extract role from token (already includes ROLE_ prefix)
-                String role = jwtUtil.extractClaims(token)
-                        .get("role", String.class);
+            UserDetails userDetails = stateless
+                    ? fromClaims(claims, email, role)
+                    : loadUser(email);
 
-                // Use role as-is without adding "ROLE_" prefix again
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
+            if (userDetails != null && email.equals(userDetails.getUsername())) {
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
                                 null,
-                                List.of(authority)
+                                List.of(new SimpleGrantedAuthority(role))
                         );
 
                 authentication.setDetails(
@@ -79,4 +98,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // DB-backed principal (cached): null when the user no longer exists
+    private UserDetails loadUser(String email) {
+        try {
+            return userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    // Stateless principal: null when the user's tokens have been revoked
+    private UserDetails fromClaims(Claims claims, String email, String role) {
+        Long userId = claims.get("userId", Long.class);
+
+        if (userId == null || revocationList.isRevoked(userId, claims.getIssuedAt())) {
+            return null;
+        }
+        return new CustomUserDetails(userId, email, role);
+    }
 }
@@ -8,6 +8,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,14 +18,18 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Key and parser are immutable and thread-safe, so build them once
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long expiration;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.expiration = expiration;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -42,25 +48,17 @@ public class JwtUtil {
                 .claim("email", user.getEmail()) // add email claim
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername())
-                && !extractClaims(token).getExpiration().before(new Date());
-    }
-
-    Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * Callers should parse once per request and read everything from the result.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,48 @@
+package com.project.security;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory list of users whose outstanding tokens must be rejected, used by
+ * the stateless auth mode in place of a per-request user lookup.
+ * Entries only need to live as long as a token does (jwt.expiration), after
+ * which every token issued before the revocation has expired on its own.
+ */
+@Component
+public class TokenRevocationList {
+
+    // userId → revocation time (epoch millis, whole seconds)
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public TokenRevocationList(@Value("${jwt.expiration}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public void revoke(Long userId) {
+        long now = System.currentTimeMillis();
+        // Floored to the second: a token's iat has no finer precision
+        revokedAt.put(userId, now - now % 1000);
+        revokedAt.values().removeIf(at -> at + ttlMillis < now);
+    }
+
+    // A token is revoked if it was issued in an earlier second than the
+    // revocation. One signed in the same second (e.g. a re-login right
+    // after an email change) stays valid; iat cannot tell the two apart.
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long at = revokedAt.get(userId);
+        if (at == null) {
+            return false;
+        }
+        if (at + ttlMillis < System.currentTimeMillis()) {
+            revokedAt.remove(userId, at);
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() < at;
+    }
+}
@@ -1,6 +1,8 @@
 package com.project.service;
 import java.util.List;
 
+import com.project.dto.CacheRegionStatsDTO;
+import com.project.dto.CacheStatsDTO;
 import com.project.entities.Agent;
 import com.project.entities.Customer;
 import com.project.entities.Owner;
@@ -16,5 +18,15 @@ public interface AdminService {
 
     void deleteUser(Long id);
 
+    void revokeUserTokens(Long id);
+
     User updateUser(Long id, User user);
+
+    CacheStatsDTO getUserCacheStats();
+
+    List<CacheRegionStatsDTO> getHibernateCacheStats();
+
+    long rebuildDashboards();
+
+    long rebuildSearchIndex();
 }
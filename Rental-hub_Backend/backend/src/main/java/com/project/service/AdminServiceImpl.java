@@ -1,20 +1,34 @@
 package com.project.service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.project.dto.CacheRegionStatsDTO;
+import com.project.dto.CacheStatsDTO;
 import com.project.entities.Agent;
 import com.project.entities.Customer;
 import com.project.entities.Owner;
 import com.project.entities.Role;
 import com.project.entities.User;
+import com.project.event.AgentEvent;
+import com.project.event.CustomerEvent;
+import com.project.event.OwnerEvent;
 import com.project.repository.AgentRepository;
 import com.project.repository.CustomerRepository;
 import com.project.repository.OwnerRepository;
 import com.project.repository.UserRepository;
+import com.project.security.TokenRevocationList;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -26,6 +40,12 @@ public class AdminServiceImpl implements AdminService {
     private final CustomerRepository customerRepo;
     private final UserRepository userRepo;
     private final PasswordEncoder encoder;
+    private final TokenRevocationList revocationList;
+    private final CustomUserDetailsService userDetailsService;
+    private final DashboardReadModel dashboardReadModel;
+    private final PropertySearchIndex propertySearchIndex;
+    private final ApplicationEventPublisher events;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public Owner addOwner(Owner owner) {
@@ -55,7 +75,20 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public void deleteUser(Long id) {
+        Role role = userRepo.findById(id).map(User::getRole).orElse(null);
         userRepo.deleteById(id);
+        revocationList.revoke(id);
+        userDetailsService.evictUser(id);
+        publishUserChanged(id, role);
+    }
+
+    // Rejects the user's outstanding tokens (stateless auth mode)
+    @Override
+    public void revokeUserTokens(Long id) {
+        if (!userRepo.existsById(id)) {
+            throw new RuntimeException("User not found");
+        }
+        revocationList.revoke(id);
     }
 
     @Override
@@ -67,6 +100,56 @@ public class AdminServiceImpl implements AdminService {
         user.setLastName(updatedUser.getLastName());
         user.setPhno(updatedUser.getPhno());
 
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        userDetailsService.evictUser(id);
+        // Cached dashboards show customer, owner and agent names
+        publishUserChanged(id, saved.getRole());
+        return saved;
+    }
+
+    @Override
+    public CacheStatsDTO getUserCacheStats() {
+        return userDetailsService.getCacheStats();
+    }
+
+    // Counters since startup for every second-level and query cache region
+    @Override
+    public List<CacheRegionStatsDTO> getHibernateCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toStats(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static CacheRegionStatsDTO toStats(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return null;
+        }
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                lookups == 0 ? 0 : (double) stats.getHitCount() / lookups);
+    }
+
+    @Override
+    public long rebuildDashboards() {
+        return dashboardReadModel.rebuild();
+    }
+
+    @Override
+    public long rebuildSearchIndex() {
+        return propertySearchIndex.rebuild();
+    }
+
+    // Each kind of user has its own event; listeners evict what shows that user
+    private void publishUserChanged(Long id, Role role) {
+        if (role == Role.OWNER) {
+            events.publishEvent(new OwnerEvent(id));
+        } else if (role == Role.AGENT) {
+            events.publishEvent(new AgentEvent(id));
+        } else {
+            events.publishEvent(new CustomerEvent(id, null));
+        }
     }
 }
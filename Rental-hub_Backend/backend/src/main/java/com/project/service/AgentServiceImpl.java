@@ -1,57 +1,52 @@
 package com.project.service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.project.dto.AgentRegisterDTO;
 import com.project.dto.AgentResponseDTO;
 import com.project.entities.Agent;
+import com.project.event.AgentEvent;
+import com.project.mapper.AgentMapper;
 import com.project.repository.AgentRepository;
+import com.project.security.TokenRevocationList;
 
 @Service
 public class AgentServiceImpl implements AgentService {
 
     private final AgentRepository agentRepository;
-
-    public AgentServiceImpl(AgentRepository agentRepository) {
+    private final TokenRevocationList revocationList;
+    private final CustomUserDetailsService userDetailsService;
+    private final ApplicationEventPublisher events;
+
+    public AgentServiceImpl(AgentRepository agentRepository,
+                            TokenRevocationList revocationList,
+                            CustomUserDetailsService userDetailsService,
+                            ApplicationEventPublisher events) {
         this.agentRepository = agentRepository;
-    }
-
-    private AgentResponseDTO mapToDTO(Agent agent) {
-        AgentResponseDTO dto = new AgentResponseDTO();
-        dto.setUserId(agent.getUserId());
-        dto.setFirstName(agent.getFirstName());
-        dto.setLastName(agent.getLastName());
-        dto.setEmail(agent.getEmail());
-        dto.setPhno(agent.getPhno());
-        dto.setAgencyName(agent.getAgencyName());
-        dto.setCommissionRate(agent.getCommissionRate());
-        return dto;
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.events = events;
     }
 
     @Override
     public AgentResponseDTO registerAgent(AgentRegisterDTO dto) {
-        Agent agent = new Agent();
-        agent.setFirstName(dto.getFirstName());
-        agent.setLastName(dto.getLastName());
-        agent.setEmail(dto.getEmail());
+        Agent agent = AgentMapper.toEntity(dto);
         agent.setPassword(dto.getPassword());
-        agent.setPhno(dto.getPhno());
-        agent.setDob(dto.getDob());
-        agent.setAgencyName(dto.getAgencyName());
-        agent.setCommissionRate(dto.getCommissionRate());
 
         Agent saved = agentRepository.save(agent);
-        return mapToDTO(saved);
+        return AgentMapper.toResponse(saved);
     }
 
     @Override
     public List<AgentResponseDTO> getAllAgents() {
         return agentRepository.findAll()
                 .stream()
-                .map(this::mapToDTO)
+                .map(AgentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -59,14 +54,14 @@ public class AgentServiceImpl implements AgentService {
     public AgentResponseDTO getAgentById(Long id) {
         Agent agent = agentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Agent not found"));
-        return mapToDTO(agent);
+        return AgentMapper.toResponse(agent);
     }
 
     @Override
     public AgentResponseDTO getAgentByEmail(String email) {
         Agent agent = agentRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Agent not found with email: " + email));
-        return mapToDTO(agent);
+        return AgentMapper.toResponse(agent);
     }
 
     @Override
@@ -74,21 +69,25 @@ public class AgentServiceImpl implements AgentService {
         Agent agent = agentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Agent not found"));
 
-        agent.setFirstName(dto.getFirstName());
-        agent.setLastName(dto.getLastName());
-        agent.setEmail(dto.getEmail());
-        agent.setPhno(dto.getPhno());
-        agent.setDob(dto.getDob());
-        agent.setAgencyName(dto.getAgencyName());
-        agent.setCommissionRate(dto.getCommissionRate());
+        String email = agent.getEmail();
+        AgentMapper.updateEntity(agent, dto);
 
         Agent updated = agentRepository.save(agent);
-        return mapToDTO(updated);
+        userDetailsService.evictUser(id);
+        // Stateless tokens carry the email: make the user sign in again
+        if (!Objects.equals(email, updated.getEmail())) {
+            revocationList.revoke(id);
+        }
+        events.publishEvent(new AgentEvent(id));
+        return AgentMapper.toResponse(updated);
     }
 
     @Override
     public String deleteAgent(Long id) {
         agentRepository.deleteById(id);
+        revocationList.revoke(id);
+        userDetailsService.evictUser(id);
+        events.publishEvent(new AgentEvent(id));
         return "Agent deleted";
     }
 }
@@ -1,8 +1,11 @@
 package com.project.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import com.project.dto.AppointmentBatchResultDTO;
 import com.project.dto.AppointmentRequestDTO;
 import com.project.dto.AppointmentResponseDTO;
+import com.project.dto.HandlerAvailabilityDTO;
 import com.project.entities.Appointment;
 
 public interface AppointmentService {
@@ -20,4 +23,12 @@ public interface AppointmentService {
 
 	List<AppointmentResponseDTO> getAppointmentsByOwner(Long ownerUserId);
 
+    // Free time within working hours for the owner/agent, days from..to inclusive
+    HandlerAvailabilityDTO getAvailability(Long handlerId, LocalDate from, LocalDate to);
+
+    // One result per item, in request order; items that fail do not undo the others
+    List<AppointmentBatchResultDTO> createAppointments(List<AppointmentRequestDTO> dtos);
+
+    List<AppointmentBatchResultDTO> cancelAppointments(List<Long> appointmentIds);
+
 }
@@ -1,42 +1,98 @@
 package com.project.service;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.dto.AppointmentBatchResultDTO;
 import com.project.dto.AppointmentRequestDTO;
 import com.project.dto.AppointmentResponseDTO;
+import com.project.dto.HandlerAvailabilityDTO;
+import com.project.dto.TimeSlotDTO;
+import com.project.entities.Agent;
 import com.project.entities.Appointment;
 import com.project.entities.Customer;
+import com.project.entities.Owner;
 import com.project.entities.Property;
+import com.project.entities.Role;
+import com.project.event.AppointmentEvent;
+import com.project.exception.DuplicateResourceException;
+import com.project.exception.ResourceNotFoundException;
+import com.project.exception.SlotConflictException;
+import com.project.mapper.AppointmentMapper;
 import com.project.repository.AgentRepository;
 import com.project.repository.AppointmentRepository;
+import com.project.repository.AppointmentRepository.BookedPair;
 import com.project.repository.CustomerRepository;
 import com.project.repository.OwnerRepository;
 import com.project.repository.PropertyRepository;
+import com.project.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
 
 
+@Slf4j
 @Service
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final Duration MAX_SLOT_LENGTH = Duration.ofHours(8);
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int BATCH_CHUNK_SIZE = 50;   // = hibernate.jdbc.batch_size
+
     private final AppointmentRepository appointmentRepo;
     private final CustomerRepository customerRepo;
     private final PropertyRepository propertyRepo;
     private final OwnerRepository ownerRepo;
     private final AgentRepository agentRepo;
+    private final UserRepository userRepo;
+    private final ApplicationEventPublisher events;
+    private final AppointmentSlotIndex slotIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
 
     public AppointmentServiceImpl(
             AppointmentRepository appointmentRepo,
             CustomerRepository customerRepo,
             PropertyRepository propertyRepo,
             OwnerRepository ownerRepo,
-            AgentRepository agentRepo) {
+            AgentRepository agentRepo,
+            UserRepository userRepo,
+            ApplicationEventPublisher events,
+            AppointmentSlotIndex slotIndex,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
         this.appointmentRepo = appointmentRepo;
         this.customerRepo = customerRepo;
         this.propertyRepo = propertyRepo;
         this.ownerRepo = ownerRepo;
         this.agentRepo = agentRepo;
+        this.userRepo = userRepo;
+        this.events = events;
+        this.slotIndex = slotIndex;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     // ================= CREATE =================
@@ -46,6 +102,12 @@ public class AppointmentServiceImpl implements AppointmentService {
         if ((dto.getOwnerId() == null) == (dto.getAgentId() == null)) {
             throw new RuntimeException("Provide either ownerId OR agentId");
         }
+        validateSlot(dto.getStartTime(), dto.getEndTime());
+
+        // A retried booking gets a clear 409 instead of tripping the unique constraint
+        if (appointmentRepo.existsByCustomerUserIdAndPropertyPropertyId(dto.getCustomerId(), dto.getPropertyId())) {
+            throw new DuplicateResourceException("Customer already has an appointment for this property");
+        }
 
         Customer customer = customerRepo.findById(dto.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -68,8 +130,17 @@ public class AppointmentServiceImpl implements AppointmentService {
             appointment.setAgent(agentRepo.findById(dto.getAgentId())
                     .orElseThrow(() -> new RuntimeException("Agent not found")));
         }
-
-        return mapToDTO(appointmentRepo.save(appointment));
+        appointment.setStartTime(dto.getStartTime());
+        appointment.setEndTime(dto.getEndTime());
+
+        // The id comes from the sequence without a flush, so the slot is
+        // taken before the row is written; a clash rolls the insert back
+        Appointment created = appointmentRepo.save(appointment);
+        if (created.getStartTime() != null) {
+            slotIndex.reserve(handlerId(created), created.getAppointmentId(),
+                    created.getStartTime(), created.getEndTime());
+        }
+        return saved(created);
     }
 
     // ================= GET ALL =================
@@ -77,7 +148,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     public List<AppointmentResponseDTO> getAllAppointments() {
         return appointmentRepo.findAll()
                 .stream()
-                .map(this::mapToDTO)
+                .map(AppointmentMapper::toResponse)
                 .toList();
     }
 
@@ -86,7 +157,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     public List<AppointmentResponseDTO> getAppointmentsByCustomer(Long customerId) {
         return appointmentRepo.findByCustomerUserId(customerId)
                 .stream()
-                .map(this::mapToDTO)
+                .map(AppointmentMapper::toResponse)
                 .toList();
     }
 
@@ -95,14 +166,21 @@ public class AppointmentServiceImpl implements AppointmentService {
     public List<AppointmentResponseDTO> getAppointmentsForLoggedInAgent(Long agentId) {
         return appointmentRepo.findByAgentUserId(agentId)
                 .stream()
-                .map(this::mapToDTO)
+                .map(AppointmentMapper::toResponse)
                 .toList();
     }
 
     // ================= DELETE =================
     @Override
     public String deleteAppointment(Long appointmentId) {
-        appointmentRepo.deleteById(appointmentId);
+        appointmentRepo.findById(appointmentId).ifPresent(appointment -> {
+            if (appointment.getStartTime() != null) {
+                slotIndex.releaseOnCommit(handlerId(appointment), appointmentId);
+            }
+            appointmentRepo.delete(appointment);
+            events.publishEvent(new AppointmentEvent(
+                    appointment.getCustomer().getUserId(), appointmentId, null));
+        });
         return "Appointment cancelled";
     }
 
@@ -113,6 +191,12 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
+        boolean rescheduled = dto.getStartTime() != null || dto.getEndTime() != null;
+        if (rescheduled) {
+            validateSlot(dto.getStartTime(), dto.getEndTime());
+        }
+        Long previousHandler = handlerId(appointment);
+
         if (dto.getPropertyId() != null) {
             Property property = propertyRepo.findById(dto.getPropertyId())
                     .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -131,40 +215,332 @@ public class AppointmentServiceImpl implements AppointmentService {
             appointment.setOwner(null);
         }
 
-        return mapToDTO(appointmentRepo.save(appointment));
+        // Re-check the slot when the time or the handler changes
+        Long handler = handlerId(appointment);
+        LocalDateTime start = rescheduled ? dto.getStartTime() : appointment.getStartTime();
+        LocalDateTime end = rescheduled ? dto.getEndTime() : appointment.getEndTime();
+        if (start != null && (rescheduled || !handler.equals(previousHandler))) {
+            if (appointment.getStartTime() != null && !handler.equals(previousHandler)) {
+                slotIndex.releaseOnCommit(previousHandler, id);
+            }
+            slotIndex.reserve(handler, id, start, end);
+        }
+        appointment.setStartTime(start);
+        appointment.setEndTime(end);
+
+        return saved(appointmentRepo.save(appointment));
     }
 
-    // ================= DTO MAPPING =================
-    private AppointmentResponseDTO mapToDTO(Appointment a) {
+	@Override
+	public List<AppointmentResponseDTO> getAppointmentsByOwner(Long ownerUserId) {
+		return appointmentRepo.findByOwnerUserId(ownerUserId)
+                .stream()
+                .map(AppointmentMapper::toResponse)
+                .toList();
+	}
 
-        AppointmentResponseDTO dto = new AppointmentResponseDTO();
-        dto.setAppointmentId(a.getAppointmentId());
+    // ================= AVAILABILITY =================
+    // Served from the handler's schedule in AppointmentSlotIndex; the handler
+    // lookup is a second-level cache hit once warm
+    @Override
+    @Transactional(readOnly = true)
+    public HandlerAvailabilityDTO getAvailability(Long handlerId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_AVAILABILITY_DAYS + " days per request");
+        }
+        userRepo.findById(handlerId)
+                .filter(user -> user.getRole() == Role.OWNER || user.getRole() == Role.AGENT)
+                .orElseThrow(() -> new ResourceNotFoundException("Owner or agent not found with id: " + handlerId));
 
-        dto.setCustomerId(a.getCustomer().getUserId());
-        dto.setCustomerName(a.getCustomer().getFirstName());
+        List<TimeSlotDTO> free = slotIndex.freeTime(handlerId, from, to).stream()
+                .map(time -> new TimeSlotDTO(time.start(), time.end()))
+                .toList();
+        return new HandlerAvailabilityDTO(handlerId, AppointmentSlotIndex.SLOT_MINUTES, free);
+    }
 
-        dto.setPropertyId(a.getProperty().getPropertyId());
-        dto.setPropertyTitle(a.getProperty().getTitle());
+    // ================= BATCH =================
+
+    // An item of a batch, remembered by its position in the request
+    private interface BatchItem {
+        int index();
+        Long appointmentId();
+    }
 
-        if (a.getOwner() != null) {
-            dto.setHandledBy("OWNER");
-            dto.setHandlerName(a.getOwner().getFirstName());
-        } else if (a.getAgent() != null) {
-            dto.setHandledBy("AGENT");
-            dto.setHandlerName(a.getAgent().getFirstName());
+    private record Booking(int index, Customer customer, Property property, Owner owner, Agent agent,
+                           LocalDateTime start, LocalDateTime end) implements BatchItem {
+
+        @Override
+        public Long appointmentId() {
+            return null;
         }
 
-        dto.setCreatedAt(a.getCreatedAt());
-        return dto;
+        Appointment toEntity() {
+            Appointment appointment = new Appointment();
+            appointment.setCustomer(customer);
+            appointment.setProperty(property);
+            appointment.setOwner(owner);
+            appointment.setAgent(agent);
+            appointment.setStartTime(start);
+            appointment.setEndTime(end);
+            return appointment;
+        }
     }
 
-	@Override
-	public List<AppointmentResponseDTO> getAppointmentsByOwner(Long ownerUserId) {
-		return appointmentRepo.findByCustomerUserId(ownerUserId)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
-	}
+    private record Cancellation(int index, Long appointmentId) implements BatchItem {
+    }
+
+    // Customers, properties, owners and agents are read with one query each for
+    // the whole batch and every item is checked in memory, slot clashes with
+    // the rest of the batch included. Items that pass are written in chunks.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AppointmentBatchResultDTO> createAppointments(List<AppointmentRequestDTO> dtos) {
+        checkBatchSize(dtos);
+
+        Map<Long, Customer> customers = byId(customerRepo.findAllById(ids(dtos, AppointmentRequestDTO::getCustomerId)),
+                Customer::getUserId);
+        Map<Long, Property> properties = byId(propertyRepo.findAllById(ids(dtos, AppointmentRequestDTO::getPropertyId)),
+                Property::getPropertyId);
+        Map<Long, Owner> owners = byId(ownerRepo.findAllById(ids(dtos, AppointmentRequestDTO::getOwnerId)),
+                Owner::getUserId);
+        Map<Long, Agent> agents = byId(agentRepo.findAllById(ids(dtos, AppointmentRequestDTO::getAgentId)),
+                Agent::getUserId);
+
+        Set<List<Long>> booked = new HashSet<>();
+        if (!customers.isEmpty() && !properties.isEmpty()) {
+            for (BookedPair pair : appointmentRepo.findBookedPairs(customers.keySet(), properties.keySet())) {
+                booked.add(List.of(pair.getCustomerId(), pair.getPropertyId()));
+            }
+        }
+
+        AppointmentBatchResultDTO[] results = new AppointmentBatchResultDTO[dtos.size()];
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            AppointmentRequestDTO dto = dtos.get(i);
+            String problem = checkItem(dto, customers, properties, owners, agents, booked);
+            if (problem != null) {
+                results[i] = failed(i, null, problem);
+                continue;
+            }
+            bookings.add(new Booking(i, customers.get(dto.getCustomerId()), properties.get(dto.getPropertyId()),
+                    dto.getOwnerId() == null ? null : owners.get(dto.getOwnerId()),
+                    dto.getAgentId() == null ? null : agents.get(dto.getAgentId()),
+                    dto.getStartTime(), dto.getEndTime()));
+        }
+
+        writeInChunks(bookings, this::insert, results);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AppointmentBatchResultDTO> cancelAppointments(List<Long> appointmentIds) {
+        checkBatchSize(appointmentIds);
+
+        AppointmentBatchResultDTO[] results = new AppointmentBatchResultDTO[appointmentIds.size()];
+        List<Cancellation> cancellations = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < appointmentIds.size(); i++) {
+            Long id = appointmentIds.get(i);
+            if (id == null) {
+                results[i] = failed(i, null, "Appointment id is missing");
+            } else if (!seen.add(id)) {
+                results[i] = failed(i, id, "Appointment listed more than once");
+            } else {
+                cancellations.add(new Cancellation(i, id));
+            }
+        }
+
+        writeInChunks(cancellations, this::delete, results);
+        return Arrays.asList(results);
+    }
+
+    // Each chunk commits on its own, so what is written stays written. A chunk
+    // failing at the database (say another request booked the same customer
+    // and property meanwhile) is retried one item per transaction, so only the
+    // culprit is reported failed.
+    private <T extends BatchItem> void writeInChunks(List<T> items,
+                                                     Function<List<T>, List<AppointmentBatchResultDTO>> write,
+                                                     AppointmentBatchResultDTO[] results) {
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            List<T> chunk = items.subList(from, Math.min(from + BATCH_CHUNK_SIZE, items.size()));
+            try {
+                transaction.execute(status -> write.apply(chunk)).forEach(result -> results[result.getIndex()] = result);
+            } catch (RuntimeException chunkFailed) {
+                log.warn("Appointment batch chunk failed, retrying its {} items one by one: {}",
+                        chunk.size(), chunkFailed.getMessage());
+                for (T item : chunk) {
+                    try {
+                        transaction.execute(status -> write.apply(List.of(item)))
+                                .forEach(result -> results[result.getIndex()] = result);
+                    } catch (RuntimeException e) {
+                        results[item.index()] = failed(item.index(), item.appointmentId(), failureMessage(e));
+                    }
+                }
+            }
+        }
+    }
+
+    // Runs inside the chunk's transaction; the inserts go out as one JDBC batch at commit
+    private List<AppointmentBatchResultDTO> insert(List<Booking> chunk) {
+        List<AppointmentBatchResultDTO> results = new ArrayList<>(chunk.size());
+        for (Booking booking : chunk) {
+            Appointment appointment = booking.toEntity();
+            entityManager.persist(appointment);
+
+            // Earlier items of the batch already hold their slots, so they clash here too
+            if (appointment.getStartTime() != null) {
+                try {
+                    slotIndex.reserve(handlerId(appointment), appointment.getAppointmentId(),
+                            appointment.getStartTime(), appointment.getEndTime());
+                } catch (SlotConflictException e) {
+                    entityManager.remove(appointment);   // not flushed yet, so never written
+                    results.add(failed(booking.index(), null, e.getMessage()));
+                    continue;
+                }
+            }
+            AppointmentResponseDTO response = saved(appointment);
+            results.add(new AppointmentBatchResultDTO(booking.index(), response.getAppointmentId(),
+                    "CREATED", null, response));
+        }
+        return results;
+    }
+
+    // One select for the chunk; the deletes go out as one JDBC batch at commit
+    private List<AppointmentBatchResultDTO> delete(List<Cancellation> chunk) {
+        Map<Long, Appointment> found = byId(
+                appointmentRepo.findAllById(chunk.stream().map(Cancellation::appointmentId).toList()),
+                Appointment::getAppointmentId);
+
+        List<AppointmentBatchResultDTO> results = new ArrayList<>(chunk.size());
+        for (Cancellation cancellation : chunk) {
+            Appointment appointment = found.get(cancellation.appointmentId());
+            if (appointment == null) {
+                results.add(failed(cancellation.index(), cancellation.appointmentId(), "Appointment not found"));
+                continue;
+            }
+            if (appointment.getStartTime() != null) {
+                slotIndex.releaseOnCommit(handlerId(appointment), cancellation.appointmentId());
+            }
+            entityManager.remove(appointment);
+            events.publishEvent(new AppointmentEvent(
+                    appointment.getCustomer().getUserId(), cancellation.appointmentId(), null));
+            results.add(new AppointmentBatchResultDTO(cancellation.index(), cancellation.appointmentId(),
+                    "CANCELLED", null, null));
+        }
+        return results;
+    }
 
-	
+    // Same checks and messages as createAppointment, against the rows read for
+    // the batch. A pair that passes is marked booked, so a repeat later in the
+    // batch is refused.
+    private static String checkItem(AppointmentRequestDTO dto, Map<Long, Customer> customers,
+                                    Map<Long, Property> properties, Map<Long, Owner> owners,
+                                    Map<Long, Agent> agents, Set<List<Long>> booked) {
+        if (dto == null) {
+            return "Appointment is missing";
+        }
+        if ((dto.getOwnerId() == null) == (dto.getAgentId() == null)) {
+            return "Provide either ownerId OR agentId";
+        }
+        try {
+            validateSlot(dto.getStartTime(), dto.getEndTime());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+
+        if (!customers.containsKey(dto.getCustomerId())) {
+            return "Customer not found";
+        }
+        Property property = properties.get(dto.getPropertyId());
+        if (property == null) {
+            return "Property not found";
+        }
+        if (!Boolean.TRUE.equals(property.getIsAvailable())) {
+            return "Property not available";
+        }
+        if (dto.getOwnerId() != null && !owners.containsKey(dto.getOwnerId())) {
+            return "Owner not found";
+        }
+        if (dto.getAgentId() != null && !agents.containsKey(dto.getAgentId())) {
+            return "Agent not found";
+        }
+        if (!booked.add(List.of(dto.getCustomerId(), dto.getPropertyId()))) {
+            return "Customer already has an appointment for this property";
+        }
+        return null;
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("The batch is empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " appointments per batch");
+        }
+    }
+
+    private static String failureMessage(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return "Conflicts with an existing appointment";
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "The appointment was modified by another request, please retry";
+        }
+        log.warn("Appointment batch item failed", e);
+        return "Could not be saved, please retry";
+    }
+
+    private static AppointmentBatchResultDTO failed(int index, Long appointmentId, String message) {
+        return new AppointmentBatchResultDTO(index, appointmentId, "FAILED", message, null);
+    }
+
+    private static Set<Long> ids(List<AppointmentRequestDTO> dtos, Function<AppointmentRequestDTO, Long> id) {
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> byId(Collection<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    // Both or neither; a viewing lies in the future and lasts at most MAX_SLOT_LENGTH
+    private static void validateSlot(LocalDateTime start, LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("startTime and endTime must be given together");
+        }
+        if (start == null) {
+            return;
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("endTime must be after startTime");
+        }
+        if (Duration.between(start, end).compareTo(MAX_SLOT_LENGTH) > 0) {
+            throw new IllegalArgumentException("An appointment can last at most " + MAX_SLOT_LENGTH.toHours() + " hours");
+        }
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("startTime must be in the future");
+        }
+    }
+
+    // Owner or agent running the appointment; exactly one is set
+    private static Long handlerId(Appointment appointment) {
+        return appointment.getOwner() != null
+                ? appointment.getOwner().getUserId()
+                : appointment.getAgent().getUserId();
+    }
+
+    // Maps the saved row and tells the dashboard read model about it
+    private AppointmentResponseDTO saved(Appointment appointment) {
+        AppointmentResponseDTO response = AppointmentMapper.toResponse(appointment);
+        events.publishEvent(new AppointmentEvent(
+                response.getCustomerId(), response.getAppointmentId(), response));
+        return response;
+    }
 }
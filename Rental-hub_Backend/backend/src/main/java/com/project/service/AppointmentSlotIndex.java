@@ -0,0 +1,443 @@
+package com.project.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.exception.SlotConflictException;
+import com.project.repository.AppointmentRepository;
+import com.project.repository.AppointmentRepository.SlotColumns;
+
+/**
+ * Booked viewing slots per handler (the owner or agent running the
+ * appointment), ordered by start time so an overlap check is two neighbour
+ * lookups. A handler's upcoming slots are read from the table the first time
+ * they are needed; from then on the booking paths keep them current.
+ *
+ * A slot is taken here before the row is written and stays taken until the
+ * transaction ends: kept on commit, given back on rollback. Competing
+ * bookings for one handler are decided in memory, so none of them waits on a
+ * database lock. Owner and agent ids share the users sequence, so one map
+ * covers both.
+ *
+ * Each schedule also keeps a busy bitmap per day (one bit per
+ * SLOT_MINUTES), redrawn for the affected days whenever a slot changes, so
+ * free time is working hours minus set bits and a week view touches no
+ * table.
+ *
+ * About once a minute the calling thread also sweeps the map: schedules
+ * unused for IDLE_AFTER with no open booking are dropped (and reloaded on
+ * next use), the rest lose their past slots and days.
+ */
+@Component
+public class AppointmentSlotIndex {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final int CELLS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final Duration IDLE_AFTER = Duration.ofMinutes(30);
+    private static final Duration SWEEP_EVERY = Duration.ofMinutes(1);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_EVERY.toNanos());
+
+    // Working hours as cell numbers within a day: [openCell, closeCell)
+    private final int openCell;
+    private final int closeCell;
+    private final Set<DayOfWeek> workingDays;
+
+    public AppointmentSlotIndex(AppointmentRepository appointmentRepository,
+                                @Value("${appointments.working-hours.start:09:00}") String dayStart,
+                                @Value("${appointments.working-hours.end:18:00}") String dayEnd,
+                                @Value("${appointments.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY,SATURDAY}")
+                                String days) {
+        this.appointmentRepository = appointmentRepository;
+        this.openCell = cellCeil(LocalTime.parse(dayStart));
+        this.closeCell = LocalTime.parse(dayEnd).equals(LocalTime.MIDNIGHT)
+                ? CELLS_PER_DAY
+                : cellFloor(LocalTime.parse(dayEnd));
+        if (openCell >= closeCell) {
+            throw new IllegalArgumentException("appointments.working-hours: start must be before end");
+        }
+        this.workingDays = EnumSet.noneOf(DayOfWeek.class);
+        Arrays.stream(days.split(","))
+                .map(day -> DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)))
+                .forEach(workingDays::add);
+    }
+
+    record Slot(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return start.isBefore(to) && end.isAfter(from);
+        }
+    }
+
+    public record FreeTime(LocalDateTime start, LocalDateTime end) {
+    }
+
+    // ================= BOOKING =================
+    // Call these before the appointment row itself is flushed: a schedule
+    // loaded afterwards in the same transaction would see the change early.
+
+    /**
+     * Takes [start, end) with this handler for the appointment, moving it if
+     * it already holds a slot there. Throws SlotConflictException when
+     * another appointment overlaps.
+     */
+    public void reserve(Long handlerId, Long appointmentId, LocalDateTime start, LocalDateTime end) {
+        Schedule schedule = schedule(handlerId);
+        while (!schedule.book(appointmentId, start, end)) {
+            schedule = schedule(handlerId);   // evicted meanwhile
+        }
+
+        // An open booking keeps its schedule from being evicted, so this one is still current
+        Schedule booked = schedule;
+        afterCompletion(committed -> {
+            if (committed) {
+                booked.keep(appointmentId);
+            } else {
+                booked.undo(appointmentId);
+            }
+        });
+    }
+
+    // Frees the appointment's slot with this handler once the transaction commits
+    public void releaseOnCommit(Long handlerId, Long appointmentId) {
+        afterCompletion(committed -> {
+            if (committed) {
+                Schedule schedule = schedules.get(handlerId);
+                while (schedule != null && !schedule.release(appointmentId)) {
+                    schedule = schedules.get(handlerId);
+                }
+            }
+        });
+    }
+
+    // ================= AVAILABILITY =================
+
+    /**
+     * Free stretches of the handler's working hours on the days from..to
+     * (inclusive), in whole SLOT_MINUTES cells, earliest first. Time that is
+     * already past is never free.
+     */
+    public List<FreeTime> freeTime(Long handlerId, LocalDate from, LocalDate to) {
+        return schedule(handlerId).freeTime(from, to, LocalDateTime.now());
+    }
+
+    // The query runs under the schedule's own lock, never inside the map:
+    // other handlers are not held up and no virtual-thread carrier is pinned
+    private Schedule schedule(Long handlerId) {
+        sweepIfDue();
+        Schedule schedule = schedules.get(handlerId);
+        if (schedule == null) {
+            Schedule fresh = new Schedule(handlerId);
+            Schedule raced = schedules.putIfAbsent(handlerId, fresh);
+            schedule = raced != null ? raced : fresh;
+        }
+        schedule.lastUsed = System.nanoTime();
+        schedule.ensureLoaded();
+        return schedule;
+    }
+
+    // ================= HOUSEKEEPING =================
+
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_EVERY.toNanos())) {
+            sweep(now - IDLE_AFTER.toNanos(), LocalDateTime.now());
+        }
+    }
+
+    // Drops schedules not used since idleSince (System.nanoTime) and prunes the rest
+    void sweep(long idleSince, LocalDateTime now) {
+        schedules.forEach((handlerId, schedule) -> {
+            if (schedule.retireIfIdle(idleSince)) {
+                schedules.remove(handlerId, schedule);
+            } else {
+                schedule.dropPast(now);
+            }
+        });
+    }
+
+    private static int cellFloor(LocalTime time) {
+        return time.toSecondOfDay() / (SLOT_MINUTES * 60);
+    }
+
+    private static int cellCeil(LocalTime time) {
+        return (time.toSecondOfDay() + SLOT_MINUTES * 60 - 1) / (SLOT_MINUTES * 60);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    // ================= MODEL =================
+
+    private final class Schedule {
+
+        private final Long handlerId;
+
+        // Upcoming slots are read once, by the first caller; a failed read is retried by the next
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private volatile boolean loaded;
+
+        private volatile long lastUsed = System.nanoTime();
+        private boolean retired;   // evicted from the map; callers holding it must look again
+
+        // Slots of committed and in-flight bookings: pairwise disjoint, one per appointment
+        private final NavigableMap<LocalDateTime, Slot> byStart = new TreeMap<>();
+        private final Map<Long, Slot> byAppointment = new HashMap<>();
+
+        // Appointments changed by an open transaction, with the slot to restore on rollback
+        // (null if they had none). That slot stays blocked until the transaction ends.
+        private final Map<Long, Pending> pending = new HashMap<>();
+
+        // Cells covered by any of the above, per day that has some
+        private final Map<LocalDate, BitSet> busy = new HashMap<>();
+
+        private record Pending(Thread owner, Slot before) {
+        }
+
+        Schedule(Long handlerId) {
+            this.handlerId = handlerId;
+        }
+
+        // Past slots can never clash with a new booking, so only upcoming ones are read
+        void ensureLoaded() {
+            if (loaded) {
+                return;
+            }
+            loadLock.lock();
+            try {
+                if (!loaded) {
+                    for (SlotColumns row : appointmentRepository.findSlotsEndingAfter(handlerId, LocalDateTime.now())) {
+                        synchronized (this) {
+                            put(new Slot(row.getId(), row.getStartTime(), row.getEndTime()));
+                        }
+                    }
+                    loaded = true;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+
+        // False if the schedule was evicted; nothing is booked then
+        synchronized boolean book(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+            if (retired) {
+                return false;
+            }
+            Pending open = pending.get(appointmentId);
+            if (open != null && open.owner() != Thread.currentThread()) {
+                throw new SlotConflictException("Appointment " + appointmentId + " is being changed by another request");
+            }
+
+            Slot clash = clash(appointmentId, start, end);
+            if (clash != null) {
+                throw new SlotConflictException("Already booked from " + clash.start() + " to " + clash.end());
+            }
+
+            // Registered first, so the old slot stays busy while it is moved
+            if (open == null) {
+                pending.put(appointmentId, new Pending(Thread.currentThread(), byAppointment.get(appointmentId)));
+            }
+            remove(appointmentId);
+            put(new Slot(appointmentId, start, end));
+            return true;
+        }
+
+        // A load still running may have read the row before it was deleted,
+        // so wait for it. Not loaded at all → the next load reads committed
+        // state. False if the schedule was evicted.
+        boolean release(Long appointmentId) {
+            loadLock.lock();
+            try {
+                synchronized (this) {
+                    if (retired) {
+                        return false;
+                    }
+                    if (loaded) {
+                        remove(appointmentId);
+                    }
+                    return true;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+
+        synchronized boolean retireIfIdle(long idleSince) {
+            if (!pending.isEmpty() || lastUsed - idleSince > 0) {
+                return false;
+            }
+            retired = true;
+            return true;
+        }
+
+        // Slots of open bookings are left to their transaction. Today's bits
+        // stay: freeTime never offers time that has passed anyway.
+        synchronized void dropPast(LocalDateTime now) {
+            Iterator<Slot> started = byStart.headMap(now, false).values().iterator();
+            while (started.hasNext()) {
+                Slot slot = started.next();
+                if (!slot.end().isAfter(now) && !pending.containsKey(slot.appointmentId())) {
+                    started.remove();
+                    byAppointment.remove(slot.appointmentId());
+                }
+            }
+            busy.keySet().removeIf(day -> day.isBefore(now.toLocalDate()));
+        }
+
+        synchronized void keep(Long appointmentId) {
+            Pending open = pending.remove(appointmentId);
+            if (open != null && open.before() != null) {
+                redraw(open.before());
+            }
+        }
+
+        synchronized void undo(Long appointmentId) {
+            Pending open = pending.remove(appointmentId);
+            if (open == null) {
+                return;
+            }
+            remove(appointmentId);
+            if (open.before() != null) {
+                put(open.before());
+            }
+        }
+
+        synchronized Slot remove(Long appointmentId) {
+            Slot slot = byAppointment.remove(appointmentId);
+            if (slot != null) {
+                byStart.remove(slot.start());
+                redraw(slot);
+            }
+            return slot;
+        }
+
+        private void put(Slot slot) {
+            byStart.put(slot.start(), slot);
+            byAppointment.put(slot.appointmentId(), slot);
+            paint(slot);
+        }
+
+        // ---- busy cells ----
+
+        // Marks every cell the slot touches, even partly
+        private void paint(Slot slot) {
+            for (LocalDate day = slot.start().toLocalDate(); day.atStartOfDay().isBefore(slot.end()); day = day.plusDays(1)) {
+                LocalDateTime dayStart = day.atStartOfDay();
+                int from = slot.start().isAfter(dayStart) ? cellFloor(slot.start().toLocalTime()) : 0;
+                int to = slot.end().isBefore(dayStart.plusDays(1)) ? cellCeil(slot.end().toLocalTime()) : CELLS_PER_DAY;
+                busy.computeIfAbsent(day, d -> new BitSet(CELLS_PER_DAY)).set(from, to);
+            }
+        }
+
+        // Neighbouring slots can share a cell, so a freed slot's days are
+        // repainted from the slots still there rather than cleared
+        private void redraw(Slot freed) {
+            for (LocalDate day = freed.start().toLocalDate(); day.atStartOfDay().isBefore(freed.end()); day = day.plusDays(1)) {
+                LocalDateTime dayStart = day.atStartOfDay();
+                LocalDateTime dayEnd = dayStart.plusDays(1);
+                busy.remove(day);
+                // Disjoint slots end in start order: walk back until one ends before the day
+                for (Slot slot : byStart.headMap(dayEnd, false).descendingMap().values()) {
+                    if (!slot.end().isAfter(dayStart)) {
+                        break;
+                    }
+                    paint(slot);
+                }
+                for (Pending open : pending.values()) {
+                    if (open.before() != null && open.before().overlaps(dayStart, dayEnd)) {
+                        paint(open.before());
+                    }
+                }
+            }
+        }
+
+        synchronized List<FreeTime> freeTime(LocalDate from, LocalDate to, LocalDateTime now) {
+            List<FreeTime> free = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                if (!workingDays.contains(day.getDayOfWeek()) || day.isBefore(now.toLocalDate())) {
+                    continue;
+                }
+                int first = day.equals(now.toLocalDate())
+                        ? Math.max(openCell, cellCeil(now.toLocalTime()))
+                        : openCell;
+                BitSet cells = busy.getOrDefault(day, new BitSet(0));
+
+                int cell = cells.nextClearBit(first);
+                while (cell < closeCell) {
+                    int next = cells.nextSetBit(cell);
+                    int end = next < 0 ? closeCell : Math.min(next, closeCell);
+                    free.add(new FreeTime(day.atStartOfDay().plusMinutes((long) cell * SLOT_MINUTES),
+                            day.atStartOfDay().plusMinutes((long) end * SLOT_MINUTES)));
+                    cell = cells.nextClearBit(end);
+                }
+            }
+            return free;
+        }
+
+        // Slots are disjoint, so only the last one starting at or before
+        // `start` and the first one after it can overlap
+        private Slot clash(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, Slot> lower = byStart.floorEntry(start);
+            if (lower != null && lower.getValue().appointmentId().equals(appointmentId)) {
+                lower = byStart.lowerEntry(lower.getKey());
+            }
+            if (lower != null && lower.getValue().overlaps(start, end)) {
+                return lower.getValue();
+            }
+
+            Map.Entry<LocalDateTime, Slot> higher = byStart.higherEntry(start);
+            if (higher != null && higher.getValue().appointmentId().equals(appointmentId)) {
+                higher = byStart.higherEntry(higher.getKey());
+            }
+            if (higher != null && higher.getValue().overlaps(start, end)) {
+                return higher.getValue();
+            }
+
+            // Slots a pending move may hand back; only a few at any time
+            for (Pending open : pending.values()) {
+                Slot before = open.before();
+                if (before != null && !before.appointmentId().equals(appointmentId) && before.overlaps(start, end)) {
+                    return before;
+                }
+            }
+            return null;
+        }
+    }
+}
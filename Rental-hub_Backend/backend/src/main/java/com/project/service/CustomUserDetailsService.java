@@ -1,28 +1,99 @@
 package com.project.service;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.dto.CacheStatsDTO;
 import com.project.entities.User;
 import com.project.repository.UserRepository;
 import com.project.security.CustomUserDetails;
-import org.springframework.security.core.userdetails.*;
-import org.springframework.stereotype.Service;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // email → user details; bounded and short-lived so role/password changes
+    // made outside the eviction hooks still surface within the TTL
+    private final Cache<String, CustomUserDetails> cache;
+    // id → email of its cached entry, so eviction by id is a single lookup
+    private final ConcurrentMap<Long, String> emailById = new ConcurrentHashMap<>();
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .evictionListener((String email, CustomUserDetails details, RemovalCause cause) ->
+                        emailById.remove(details.getId(), email))
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
+        CustomUserDetails cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        System.out.println("👉 DB ROLE = " + user.getRole());
+        CustomUserDetails details = new CustomUserDetails(user); // ✅ IMPORTANT FIX
+        // Index first: an eviction in between then still finds the entry
+        emailById.put(details.getId(), email);
+        cache.put(email, details);
+        return details;
+    }
+
+    /**
+     * Drops the cached entry for a user. Called by every service that writes a
+     * user row; when a transaction is active the entry is dropped again after
+     * commit so a concurrent request can't re-cache the pre-commit state.
+     */
+    public void evictUser(Long userId) {
+        evictNow(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO("user-details",
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
 
-        return new CustomUserDetails(user); // ✅ IMPORTANT FIX
+    // Keyed by email, which may itself be changing, so go through the id index
+    private void evictNow(Long userId) {
+        String email = emailById.remove(userId);
+        if (email != null) {
+            cache.invalidate(email);
+        }
     }
 }
@@ -1,6 +1,8 @@
 package com.project.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import com.project.dto.CustomerDTO;
 import com.project.dto.CustomerDashboardDTO;
@@ -14,6 +16,9 @@ public interface CustomerService {
 
     CustomerResponseDTO getCustomerById(Long id);
 
+    // Unknown ids are skipped rather than failing the whole batch
+    List<CustomerResponseDTO> getCustomersByIds(Collection<Long> ids);
+
     CustomerResponseDTO getCustomerByEmail(String email);
 
     CustomerResponseDTO updateCustomer(Long id, CustomerDTO dto);
@@ -21,4 +26,10 @@ public interface CustomerService {
     String deleteCustomer(Long id);
 
     CustomerDashboardDTO getCustomerDashboard(Long id);
+
+    // fields: subset of profile/appointments/leases/properties (null → all)
+    CustomerDashboardDTO getCustomerDashboard(Long id, Set<String> fields, Integer propertyLimit);
+
+    // Strong ETag of that dashboard, from the read model's stamps (nothing is mapped)
+    String getCustomerDashboardETag(Long id, Set<String> fields);
 }
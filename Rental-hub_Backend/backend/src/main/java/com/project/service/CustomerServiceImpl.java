@@ -1,43 +1,61 @@
 package com.project.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.dto.CustomerDTO;
 import com.project.dto.CustomerDashboardDTO;
 import com.project.dto.CustomerResponseDTO;
+import com.project.dto.PropertyPageDTO;
+import com.project.dto.PropertySearchDTO;
 import com.project.entities.Customer;
+import com.project.event.CustomerEvent;
 import com.project.exception.ResourceNotFoundException;
+import com.project.mapper.CustomerMapper;
 import com.project.repository.CustomerRepository;
+import com.project.security.TokenRevocationList;
 
 @Service
 @Transactional
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final Set<String> DASHBOARD_SECTIONS =
+            Set.of("profile", "appointments", "leases", "properties");
+    private static final int MAX_BATCH_IDS = 1000;
+
     private final CustomerRepository customerRepository;
-    private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
 
-    private final AppointmentService appointmentService;
-    private final LeaseAgreementService leaseService;
     private final PropertyService propertyService;
+    private final DashboardReadModel dashboardReadModel;
+    private final TokenRevocationList revocationList;
+    private final CustomUserDetailsService userDetailsService;
+    private final ApplicationEventPublisher events;
 
     public CustomerServiceImpl(CustomerRepository customerRepository,
-                               ModelMapper modelMapper,
                                PasswordEncoder passwordEncoder,
-                               AppointmentService appointmentService,
-                               LeaseAgreementService leaseService,
-                               PropertyService propertyService) {
+                               PropertyService propertyService,
+                               DashboardReadModel dashboardReadModel,
+                               TokenRevocationList revocationList,
+                               CustomUserDetailsService userDetailsService,
+                               ApplicationEventPublisher events) {
         this.customerRepository = customerRepository;
-        this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
-        this.appointmentService = appointmentService;
-        this.leaseService = leaseService;
         this.propertyService = propertyService;
+        this.dashboardReadModel = dashboardReadModel;
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.events = events;
     }
 
     @Override
@@ -46,18 +64,18 @@ public class CustomerServiceImpl implements CustomerService {
             throw new RuntimeException("Email already registered");
         }
 
-        Customer customer = modelMapper.map(dto, Customer.class);
+        Customer customer = CustomerMapper.toEntity(dto);
         customer.setPassword(passwordEncoder.encode(dto.getPassword()));
 
         Customer saved = customerRepository.save(customer);
-        return modelMapper.map(saved, CustomerResponseDTO.class);
+        return CustomerMapper.toResponse(saved);
     }
 
     @Override
     public List<CustomerResponseDTO> getAllCustomers() {
         return customerRepository.findAll()
                 .stream()
-                .map(customer -> modelMapper.map(customer, CustomerResponseDTO.class))
+                .map(CustomerMapper::toResponse)
                 .toList();
     }
 
@@ -65,14 +83,26 @@ public class CustomerServiceImpl implements CustomerService {
     public CustomerResponseDTO getCustomerById(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        return modelMapper.map(customer, CustomerResponseDTO.class);
+        return CustomerMapper.toResponse(customer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> getCustomersByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per batch");
+        }
+        return customerRepository.findAllById(ids)
+                .stream()
+                .map(CustomerMapper::toResponse)
+                .toList();
     }
 
     @Override
     public CustomerResponseDTO getCustomerByEmail(String email) {
         Customer customer = customerRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with email: " + email));
-        return modelMapper.map(customer, CustomerResponseDTO.class);
+        return CustomerMapper.toResponse(customer);
     }
 
     @Override
@@ -80,41 +110,103 @@ public class CustomerServiceImpl implements CustomerService {
         Customer existing = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
 
-        existing.setFirstName(dto.getFirstName());
-        existing.setLastName(dto.getLastName());
-        existing.setEmail(dto.getEmail());
-        existing.setPhno(dto.getPhno());
-        existing.setDob(dto.getDob());
+        String email = existing.getEmail();
+        CustomerMapper.updateEntity(existing, dto);
 
         if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
             existing.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
 
         Customer updated = customerRepository.save(existing);
-        return modelMapper.map(updated, CustomerResponseDTO.class);
+        userDetailsService.evictUser(id);
+        // Stateless tokens carry the email: make the user sign in again
+        if (!Objects.equals(email, updated.getEmail())) {
+            revocationList.revoke(id);
+        }
+
+        CustomerResponseDTO response = CustomerMapper.toResponse(updated);
+        events.publishEvent(new CustomerEvent(id, response));
+        return response;
     }
 
     @Override
     public String deleteCustomer(Long id) {
         customerRepository.deleteById(id);
+        revocationList.revoke(id);
+        userDetailsService.evictUser(id);
+        events.publishEvent(new CustomerEvent(id, null));
         return "Customer deleted";
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerDashboardDTO getCustomerDashboard(Long id) {
-        // Fetch profile
-        CustomerResponseDTO profile = getCustomerById(id);
+        return getCustomerDashboard(id, null, null);
+    }
+
+    // Profile, appointments and leases come from the per-customer read model;
+    // only a miss touches the database. No transaction is held while waiting.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerDashboardDTO getCustomerDashboard(Long id, Set<String> fields, Integer propertyLimit) {
+
+        Set<String> sections = fields == null || fields.isEmpty() ? DASHBOARD_SECTIONS : fields;
+        for (String section : sections) {
+            if (!DASHBOARD_SECTIONS.contains(section)) {
+                throw new IllegalArgumentException("Unknown dashboard field: " + section);
+            }
+        }
+
+        // Always resolved so an unknown customer is a 404, not an empty dashboard
+        DashboardReadModel.Entry entry = await(dashboardReadModel.get(id));
 
-        // Fetch appointments for customer
-        var appointments = appointmentService.getAppointmentsByCustomer(id);
+        CustomerDashboardDTO dashboard = new CustomerDashboardDTO();
+        if (sections.contains("profile")) {
+            dashboard.setProfile(entry.getProfile());
+        }
+        if (sections.contains("appointments")) {
+            dashboard.setAppointments(entry.getAppointments());
+        }
+        if (sections.contains("leases")) {
+            dashboard.setLeases(entry.getLeases());
+        }
+        if (sections.contains("properties")) {
+            PropertyPageDTO page = recommendedProperties(propertyLimit);
+            dashboard.setProperties(page.getContent());
+            dashboard.setPropertiesNextCursor(page.getNextCursor());
+        }
+        return dashboard;
+    }
 
-        // Fetch leases for customer
-        var leases = leaseService.getLeasesByCustomerId(id);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getCustomerDashboardETag(Long id, Set<String> fields) {
+        DashboardReadModel.Entry entry = await(dashboardReadModel.get(id));
+        boolean withProperties = fields == null || fields.isEmpty() || fields.contains("properties");
+        return dashboardReadModel.eTag(id, entry, withProperties);
+    }
 
-        // Fetch available properties (all)
-        var properties = propertyService.getAvailableProperties();
+    // First page of available listings; the default size is shared by every
+    // dashboard and served from the read model's snapshot
+    private PropertyPageDTO recommendedProperties(Integer limit) {
+        if (limit == null || limit == DashboardReadModel.RECOMMENDED_SIZE) {
+            return dashboardReadModel.recommendedProperties();
+        }
+        PropertySearchDTO criteria = new PropertySearchDTO();
+        criteria.setIsAvailable(true);
+        criteria.setSize(limit);
+        return propertyService.searchProperties(criteria);
+    }
 
-        // Aggregate into dashboard DTO (you must have this DTO)
-        return new CustomerDashboardDTO(profile, appointments, leases, properties);
+    // Rethrow the section's own exception so the usual error mapping applies
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,477 @@
+package com.project.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.project.dto.AppointmentResponseDTO;
+import com.project.dto.CustomerResponseDTO;
+import com.project.dto.LeaseAgreementResponseDTO;
+import com.project.dto.PropertyPageDTO;
+import com.project.dto.PropertySearchDTO;
+import com.project.event.AgentEvent;
+import com.project.event.AppointmentEvent;
+import com.project.event.CustomerEvent;
+import com.project.event.LeaseEvent;
+import com.project.event.LeasesImportedEvent;
+import com.project.event.OwnerEvent;
+import com.project.event.PropertiesImportedEvent;
+import com.project.event.PropertyEvent;
+import com.project.exception.ResourceNotFoundException;
+import com.project.mapper.AppointmentMapper;
+import com.project.mapper.CustomerMapper;
+import com.project.mapper.LeaseAgreementMapper;
+import com.project.repository.AppointmentRepository;
+import com.project.repository.CustomerRepository;
+import com.project.repository.LeaseAgreementRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Denormalized per-customer dashboard (profile, appointments, leases) so a
+ * dashboard read is a single-key lookup instead of three joins.
+ *
+ * Entries are loaded on first read and then patched in place by the domain
+ * events that the appointment, lease, property and customer services publish
+ * after commit. Evicting an entry is always safe; the next read reloads it,
+ * which is how property and owner/agent renames reach the appointments.
+ */
+@Component
+public class DashboardReadModel {
+
+    public static final int RECOMMENDED_SIZE = 10;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final AsyncCache<Long, Entry> entries;
+
+    private final CustomerRepository customerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final LeaseAgreementRepository leaseRepository;
+    private final AppointmentService appointmentService;
+    private final LeaseAgreementService leaseService;
+    private final PropertyService propertyService;
+    private final EntityManager entityManager;
+    private final Executor executor;
+    private final long maxSize;
+
+    // Bumped on every property write and owner/agent change (listings show their
+    // names); a recommended page from an older version is stale
+    private final AtomicLong propertyVersion = new AtomicLong();
+    private volatile Recommended recommended;
+
+    // Every entry load or patch takes a fresh stamp; the ETag is built from it.
+    // The epoch keeps tags from another process (or a restart) from matching.
+    private final AtomicLong stamps = new AtomicLong();
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    // Non-null while rebuild() runs: customers changed mid-rebuild are dropped afterwards
+    private volatile Set<Long> touchedDuringRebuild;
+
+    // Appointments show the property title and the handler's name. These map a
+    // property / owner-or-agent id to the cached customers showing it, so a
+    // rename evicts just those entries. Ids may linger after their appointment
+    // is gone, which only costs a spare eviction; they are pruned when the
+    // customer's entry leaves the cache.
+    private final ConcurrentMap<Long, Set<Long>> customersByProperty = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Long>> customersByHandler = new ConcurrentHashMap<>();
+    // Loads still running, whose appointments are not indexed yet (customer → count)
+    private final ConcurrentMap<Long, Integer> loading = new ConcurrentHashMap<>();
+    // Non-null while rebuild() runs: renames are evicted again once it has published
+    private volatile Renames renamesDuringRebuild;
+
+    public DashboardReadModel(CustomerRepository customerRepository,
+                              AppointmentRepository appointmentRepository,
+                              LeaseAgreementRepository leaseRepository,
+                              AppointmentService appointmentService,
+                              LeaseAgreementService leaseService,
+                              PropertyService propertyService,
+                              EntityManager entityManager,
+                              @Qualifier("dashboardExecutor") Executor executor,
+                              @Value("${dashboard.read-model.max-size:50000}") long maxSize) {
+        this.customerRepository = customerRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.leaseRepository = leaseRepository;
+        this.appointmentService = appointmentService;
+        this.leaseService = leaseService;
+        this.propertyService = propertyService;
+        this.entityManager = entityManager;
+        this.executor = executor;
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .removalListener((Long customerId, Entry entry, RemovalCause cause) -> unindex(customerId, entry))
+                .buildAsync();
+    }
+
+    // ================= READ =================
+
+    public CompletableFuture<Entry> get(Long customerId) {
+        return entries.get(customerId, (id, ignored) -> load(id));
+    }
+
+    /**
+     * Strong ETag for a dashboard built from this entry: its stamp, plus the
+     * property version when listings are included. The stamp changes with the
+     * profile, appointments and leases, and with the titles and handler names
+     * the appointments show (a rename reloads the entry); the property version
+     * covers the listings, including their owner and agent names. Must be
+     * taken before the sections are read, so a patch landing in between only
+     * makes the tag older than the body.
+     */
+    public String eTag(Long customerId, Entry entry, boolean withProperties) {
+        String tag = "c" + customerId + "-" + epoch + "-" + Long.toHexString(entry.stamp);
+        if (withProperties) {
+            tag += "-" + Long.toHexString(propertyVersion.get());
+        }
+        return '"' + tag + '"';
+    }
+
+    // First page of available listings, shared by every dashboard
+    public PropertyPageDTO recommendedProperties() {
+        long version = propertyVersion.get();
+        Recommended current = recommended;
+        if (current != null && current.version() == version) {
+            return current.page();
+        }
+
+        PropertySearchDTO criteria = new PropertySearchDTO();
+        criteria.setIsAvailable(true);
+        criteria.setSize(RECOMMENDED_SIZE);
+        PropertyPageDTO page = propertyService.searchProperties(criteria);
+
+        // Tagged with the version read before the query, so a write that
+        // raced with it leaves this snapshot stale
+        recommended = new Recommended(version, page);
+        return page;
+    }
+
+    // Miss path. Leaves `loading` only once its appointments are indexed, so a
+    // rename meanwhile finds the customer in one or the other
+    private CompletableFuture<Entry> load(Long customerId) {
+        loading.merge(customerId, 1, Integer::sum);
+        try {
+            return loadSections(customerId).whenComplete((entry, error) -> loaded(customerId));
+        } catch (RuntimeException e) {
+            loaded(customerId);   // executor rejected the section loads
+            throw e;
+        }
+    }
+
+    private void loaded(Long customerId) {
+        loading.computeIfPresent(customerId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    // The three sections load concurrently, each in its own read transaction
+    private CompletableFuture<Entry> loadSections(Long customerId) {
+        var profile = CompletableFuture.supplyAsync(() -> customerRepository.findById(customerId)
+                .map(CustomerMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId)),
+                executor);
+        var appointments = CompletableFuture.supplyAsync(
+                () -> appointmentService.getAppointmentsByCustomer(customerId), executor);
+        var leases = CompletableFuture.supplyAsync(
+                () -> leaseService.getLeasesByCustomerId(customerId), executor);
+
+        return CompletableFuture.allOf(profile, appointments, leases)
+                .thenApply(done -> {
+                    Entry entry = new Entry(profile.join(), stamps.incrementAndGet());
+                    appointments.join().forEach(a -> {
+                        index(a);
+                        entry.putAppointment(a);
+                    });
+                    leases.join().forEach(entry::putLease);
+                    return entry;
+                });
+    }
+
+    // ================= INCREMENTAL UPDATES =================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointment(AppointmentEvent event) {
+        patch(event.getCustomerId(), entry -> {
+            if (event.getAppointment() == null) {
+                entry.appointments.remove(event.getAppointmentId());
+            } else {
+                index(event.getAppointment());
+                entry.putAppointment(event.getAppointment());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLease(LeaseEvent event) {
+        if (event.getPreviousCustomerId() != null
+                && !event.getPreviousCustomerId().equals(event.getCustomerId())) {
+            patch(event.getPreviousCustomerId(), entry -> entry.leases.remove(event.getLeaseId()));
+        }
+        patch(event.getCustomerId(), entry -> {
+            if (event.getLease() == null) {
+                entry.leases.remove(event.getLeaseId());
+            } else {
+                entry.putLease(event.getLease());
+            }
+        });
+    }
+
+    // Too many rows to patch one by one; affected customers reload on their next read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeasesImported(LeasesImportedEvent event) {
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.addAll(event.getCustomerIds());
+        }
+        entries.synchronous().invalidateAll(event.getCustomerIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomer(CustomerEvent event) {
+        if (event.getProfile() == null) {
+            entries.synchronous().invalidate(event.getCustomerId());
+            return;
+        }
+        patch(event.getCustomerId(), entry -> entry.profile = event.getProfile());
+    }
+
+    // Appointments show the property title: entries showing it reload
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProperty(PropertyEvent event) {
+        propertyVersion.incrementAndGet();
+
+        if (event.isTitleChanged()) {
+            Renames renames = renamesDuringRebuild;
+            if (renames != null) {
+                renames.properties().add(event.getPropertyId());
+            }
+            evictShowing(customersByProperty, event.getPropertyId());
+        }
+    }
+
+    // Owner names are part of the recommended listings and of appointments
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOwner(OwnerEvent event) {
+        propertyVersion.incrementAndGet();
+        handlerChanged(event.getOwnerId());
+    }
+
+    // Agent names too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgent(AgentEvent event) {
+        propertyVersion.incrementAndGet();
+        handlerChanged(event.getAgentId());
+    }
+
+    // New listings only change the recommendations, never a cached title
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        propertyVersion.incrementAndGet();
+    }
+
+    private void handlerChanged(Long userId) {
+        Renames renames = renamesDuringRebuild;
+        if (renames != null) {
+            renames.handlers().add(userId);
+        }
+        evictShowing(customersByHandler, userId);
+    }
+
+    // The index is read before the running loads, and a load leaves `loading`
+    // only after indexing, so every entry that may show the old name is caught
+    private void evictShowing(ConcurrentMap<Long, Set<Long>> index, Long id) {
+        Set<Long> customers = index.remove(id);
+        Set<Long> evict = customers == null ? new HashSet<>() : new HashSet<>(customers);
+        evict.addAll(loading.keySet());
+        if (!evict.isEmpty()) {
+            entries.synchronous().invalidateAll(evict);
+        }
+    }
+
+    private void index(AppointmentResponseDTO appointment) {
+        addTo(customersByProperty, appointment.getPropertyId(), appointment.getCustomerId());
+        if (appointment.getHandlerId() != null) {
+            addTo(customersByHandler, appointment.getHandlerId(), appointment.getCustomerId());
+        }
+    }
+
+    // compute() keeps the add atomic with evictShowing's remove of the same key
+    private static void addTo(ConcurrentMap<Long, Set<Long>> index, Long id, Long customerId) {
+        index.compute(id, (key, customers) -> {
+            Set<Long> set = customers == null ? ConcurrentHashMap.newKeySet() : customers;
+            set.add(customerId);
+            return set;
+        });
+    }
+
+    // A customer is only dropped while it has no entry; a later load indexes it again
+    private void unindex(Long customerId, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (AppointmentResponseDTO appointment : entry.appointments.values()) {
+            removeFrom(customersByProperty, appointment.getPropertyId(), customerId);
+            if (appointment.getHandlerId() != null) {
+                removeFrom(customersByHandler, appointment.getHandlerId(), customerId);
+            }
+        }
+    }
+
+    private void removeFrom(ConcurrentMap<Long, Set<Long>> index, Long id, Long customerId) {
+        index.computeIfPresent(id, (key, customers) -> {
+            if (entries.getIfPresent(customerId) == null) {
+                customers.remove(customerId);
+            }
+            return customers.isEmpty() ? null : customers;
+        });
+    }
+
+    private void patch(Long customerId, Consumer<Entry> change) {
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(customerId);
+        }
+
+        // Absent → nothing to do, the next read loads committed state.
+        // In-flight load → the patch runs once it completes.
+        CompletableFuture<Entry> future = entries.getIfPresent(customerId);
+        if (future != null) {
+            future.thenAccept(change.andThen(entry -> entry.stamp = stamps.incrementAndGet()));
+        }
+    }
+
+    // ================= REBUILD =================
+
+    /**
+     * Reconstructs the model from the tables, streaming rows and clearing the
+     * persistence context in batches. Entries are built aside and published
+     * with a fresh stamp only once their appointments and leases are in, so
+     * readers keep the old entry (or load their own) until then. At most
+     * max-size customers are built; the rest load on their next read.
+     *
+     * @return number of customers loaded
+     */
+    @Transactional(readOnly = true)
+    public long rebuild() {
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        Renames renames = new Renames(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        touchedDuringRebuild = touched;
+        renamesDuringRebuild = renames;
+        try {
+            Map<Long, Entry> built = new HashMap<>();
+
+            long customers = drain(customerRepository.streamAll(), c -> {
+                if (built.size() < maxSize) {
+                    built.put(c.getUserId(), new Entry(CustomerMapper.toResponse(c), 0));
+                }
+            });
+
+            drain(appointmentRepository.streamAll(), a -> {
+                Entry entry = built.get(a.getCustomer().getUserId());
+                if (entry != null) {
+                    entry.putAppointment(AppointmentMapper.toResponse(a));
+                }
+            });
+
+            drain(leaseRepository.streamAll(), l -> {
+                Entry entry = built.get(l.getCustomer().getUserId());
+                if (entry != null) {
+                    entry.putLease(LeaseAgreementMapper.toResponse(l));
+                }
+            });
+
+            // Entries of customers that are gone (or past the cap) are dropped;
+            // customers changed mid-rebuild keep their patched entry until the finally
+            entries.synchronous().asMap().keySet().removeIf(id -> !built.containsKey(id));
+            built.forEach((id, entry) -> {
+                if (!touched.contains(id)) {
+                    entry.appointments.values().forEach(this::index);
+                    entry.stamp = stamps.incrementAndGet();
+                    entries.put(id, CompletableFuture.completedFuture(entry));
+                }
+            });
+            return customers;
+        } finally {
+            touchedDuringRebuild = null;
+            renamesDuringRebuild = null;
+            entries.synchronous().invalidateAll(touched);
+            // Built entries may predate a rename; they are all indexed by now
+            renames.properties().forEach(id -> evictShowing(customersByProperty, id));
+            renames.handlers().forEach(id -> evictShowing(customersByHandler, id));
+        }
+    }
+
+    private <T> long drain(Stream<T> rows, Consumer<T> sink) {
+        long count = 0;
+        try (rows) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                sink.accept(it.next());
+                if (++count % REBUILD_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    // ================= MODEL =================
+
+    public static final class Entry {
+
+        private volatile CustomerResponseDTO profile;
+        private volatile long stamp;
+        private final Map<Long, AppointmentResponseDTO> appointments = new ConcurrentSkipListMap<>();
+        private final Map<Long, LeaseAgreementResponseDTO> leases = new ConcurrentSkipListMap<>();
+
+        Entry(CustomerResponseDTO profile, long stamp) {
+            this.profile = profile;
+            this.stamp = stamp;
+        }
+
+        public CustomerResponseDTO getProfile() {
+            return profile;
+        }
+
+        public List<AppointmentResponseDTO> getAppointments() {
+            return new ArrayList<>(appointments.values());
+        }
+
+        public List<LeaseAgreementResponseDTO> getLeases() {
+            return new ArrayList<>(leases.values());
+        }
+
+        private void putAppointment(AppointmentResponseDTO appointment) {
+            appointments.put(appointment.getAppointmentId(), appointment);
+        }
+
+        private void putLease(LeaseAgreementResponseDTO lease) {
+            leases.put(lease.getLeaseId(), lease);
+        }
+    }
+
+    private record Recommended(long version, PropertyPageDTO page) {
+    }
+
+    private record Renames(Set<Long> properties, Set<Long> handlers) {
+    }
+}
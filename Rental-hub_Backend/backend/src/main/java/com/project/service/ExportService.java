@@ -0,0 +1,13 @@
+package com.project.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Full-table exports for admin reporting. Rows are written to out as they are
+// read, so call these from a StreamingResponseBody.
+public interface ExportService {
+
+    void exportProperties(OutputStream out, ExportWriter.Format format) throws IOException;
+
+    void exportLeases(OutputStream out, ExportWriter.Format format) throws IOException;
+}
@@ -0,0 +1,70 @@
+package com.project.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.LeaseAgreementResponseDTO;
+import com.project.dto.PropertyResponseDTO;
+import com.project.mapper.LeaseAgreementMapper;
+import com.project.mapper.PropertyMapper;
+import com.project.repository.LeaseAgreementRepository;
+import com.project.repository.PropertyRepository;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    // Rows kept in the persistence context between clears
+    private static final int CLEAR_EVERY = 500;
+
+    private final PropertyRepository propertyRepository;
+    private final LeaseAgreementRepository leaseRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public ExportServiceImpl(PropertyRepository propertyRepository,
+                             LeaseAgreementRepository leaseRepository,
+                             ObjectMapper objectMapper,
+                             EntityManager entityManager) {
+        this.propertyRepository = propertyRepository;
+        this.leaseRepository = leaseRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void exportProperties(OutputStream out, ExportWriter.Format format) throws IOException {
+        write(propertyRepository.streamAll(), PropertyMapper::toResponse,
+                new ExportWriter<>(out, format, objectMapper, PropertyResponseDTO.class));
+    }
+
+    @Override
+    public void exportLeases(OutputStream out, ExportWriter.Format format) throws IOException {
+        write(leaseRepository.streamAll(), LeaseAgreementMapper::toResponse,
+                new ExportWriter<>(out, format, objectMapper, LeaseAgreementResponseDTO.class));
+    }
+
+    // Cursor-fetched rows (useCursorFetch + fetch size) are mapped and written one at a
+    // time; clearing the persistence context keeps memory flat however many rows there are
+    private <E, D> void write(Stream<E> rows, Function<E, D> mapper, ExportWriter<D> writer) throws IOException {
+        try (rows; writer) {
+            Iterator<E> it = rows.iterator();
+            long count = 0;
+            while (it.hasNext()) {
+                writer.write(mapper.apply(it.next()));
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -16,4 +16,7 @@ public interface LeaseAgreementService {
     List<LeaseAgreementResponseDTO> getLeasesByCustomerId(Long customerId);
 
     String deleteLease(Long leaseId);
+
+    // Inserts the rows in JDBC batches, all or nothing; returns the number imported
+    int importLeases(List<LeaseAgreementRequestDTO> dtos);
 }
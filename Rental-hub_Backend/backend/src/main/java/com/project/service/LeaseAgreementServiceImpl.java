@@ -1,8 +1,13 @@
 package com.project.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,29 +17,43 @@ import com.project.entities.Customer;
 import com.project.entities.LeaseAgreement;
 import com.project.entities.Owner;
 import com.project.entities.Property;
+import com.project.event.LeaseEvent;
+import com.project.event.LeasesImportedEvent;
+import com.project.mapper.LeaseAgreementMapper;
 import com.project.repository.CustomerRepository;
 import com.project.repository.LeaseAgreementRepository;
 import com.project.repository.OwnerRepository;
 import com.project.repository.PropertyRepository;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 @Transactional
 public class LeaseAgreementServiceImpl implements LeaseAgreementService {
 
+    // Matches hibernate.jdbc.batch_size: one flush per batch, then the session is cleared
+    private static final int IMPORT_CHUNK_SIZE = 50;
+
     private final LeaseAgreementRepository leaseRepo;
     private final PropertyRepository propertyRepo;
     private final CustomerRepository customerRepo;
     private final OwnerRepository ownerRepo;
+    private final ApplicationEventPublisher events;
+    private final EntityManager entityManager;
 
     public LeaseAgreementServiceImpl(
             LeaseAgreementRepository leaseRepo,
             PropertyRepository propertyRepo,
             CustomerRepository customerRepo,
-            OwnerRepository ownerRepo) {
+            OwnerRepository ownerRepo,
+            ApplicationEventPublisher events,
+            EntityManager entityManager) {
         this.leaseRepo = leaseRepo;
         this.propertyRepo = propertyRepo;
         this.customerRepo = customerRepo;
         this.ownerRepo = ownerRepo;
+        this.events = events;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -54,27 +73,23 @@ public class LeaseAgreementServiceImpl implements LeaseAgreementService {
         lease.setProperty(property);
         lease.setCustomer(customer);
         lease.setOwner(owner);
-        lease.setStartDate(dto.getStartDate());
-        lease.setEndDate(dto.getEndDate());
-        lease.setMonthlyRent(dto.getMonthlyRent());
-        lease.setSecurityDeposit(dto.getSecurityDeposit());
-        lease.setIsSigned(dto.getIsSigned());
+        LeaseAgreementMapper.updateEntity(lease, dto);
 
         LeaseAgreement saved = leaseRepo.save(lease);
-        return mapToDTO(saved);
+        return saved(saved, null);
     }
 
     @Override
     public LeaseAgreementResponseDTO getLeaseById(Long leaseId) {
         LeaseAgreement lease = leaseRepo.findById(leaseId)
                 .orElseThrow(() -> new RuntimeException("Lease not found"));
-        return mapToDTO(lease);
+        return LeaseAgreementMapper.toResponse(lease);
     }
 
     @Override
     public List<LeaseAgreementResponseDTO> getAllLeases() {
         return leaseRepo.findAll().stream()
-                .map(this::mapToDTO)
+                .map(LeaseAgreementMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -88,6 +103,7 @@ public class LeaseAgreementServiceImpl implements LeaseAgreementService {
         Customer customer = customerRepo.findById(dto.getCustomerUserId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
+        Long previousCustomerId = lease.getCustomer().getUserId();
         lease.setProperty(property);
         lease.setCustomer(customer);
 
@@ -99,19 +115,18 @@ public class LeaseAgreementServiceImpl implements LeaseAgreementService {
             lease.setOwner(null);
         }
 
-        lease.setStartDate(dto.getStartDate());
-        lease.setEndDate(dto.getEndDate());
-        lease.setMonthlyRent(dto.getMonthlyRent());
-        lease.setSecurityDeposit(dto.getSecurityDeposit());
-        lease.setIsSigned(dto.getIsSigned());
+        LeaseAgreementMapper.updateEntity(lease, dto);
 
         LeaseAgreement updated = leaseRepo.save(lease);
-        return mapToDTO(updated);
+        return saved(updated, previousCustomerId);
     }
 
     @Override
     public String deleteLease(Long leaseId) {
-        leaseRepo.deleteById(leaseId);
+        leaseRepo.findById(leaseId).ifPresent(lease -> {
+            leaseRepo.delete(lease);
+            events.publishEvent(new LeaseEvent(lease.getCustomer().getUserId(), null, leaseId, null));
+        });
         return "lease agreement deleted";
     }
 
@@ -119,21 +134,62 @@ public class LeaseAgreementServiceImpl implements LeaseAgreementService {
     public List<LeaseAgreementResponseDTO> getLeasesByCustomerId(Long customerId) {
         return leaseRepo.findByCustomerUserId(customerId)
                 .stream()
-                .map(this::mapToDTO)
+                .map(LeaseAgreementMapper::toResponse)
                 .toList();
     }
-    private LeaseAgreementResponseDTO mapToDTO(LeaseAgreement lease) {
-        LeaseAgreementResponseDTO dto = new LeaseAgreementResponseDTO();
-        dto.setLeaseId(lease.getLeaseId());
-        dto.setPropertyId(lease.getProperty().getPropertyId());
-        dto.setCustomerUserId(lease.getCustomer().getUserId());
-        dto.setOwnerUserId(lease.getOwner() != null ? lease.getOwner().getUserId() : null);
-        dto.setStartDate(lease.getStartDate());
-        dto.setEndDate(lease.getEndDate());
-        dto.setMonthlyRent(lease.getMonthlyRent());
-        dto.setSecurityDeposit(lease.getSecurityDeposit());
-        dto.setIsSigned(lease.getIsSigned());
-        dto.setCreatedAt(lease.getCreatedAt());
-        return dto;
+
+    @Override
+    public int importLeases(List<LeaseAgreementRequestDTO> dtos) {
+
+        // Referenced rows are resolved once for the whole import, not per lease
+        Map<Long, Property> properties = propertyRepo.findAllById(ids(dtos, LeaseAgreementRequestDTO::getPropertyId))
+                .stream().collect(Collectors.toMap(Property::getPropertyId, Function.identity()));
+        Map<Long, Customer> customers = customerRepo.findAllById(ids(dtos, LeaseAgreementRequestDTO::getCustomerUserId))
+                .stream().collect(Collectors.toMap(Customer::getUserId, Function.identity()));
+        Map<Long, Owner> owners = ownerRepo.findAllById(ids(dtos, LeaseAgreementRequestDTO::getOwnerUserId))
+                .stream().collect(Collectors.toMap(Owner::getUserId, Function.identity()));
+
+        for (int i = 0; i < dtos.size(); i++) {
+            LeaseAgreementRequestDTO dto = dtos.get(i);
+
+            LeaseAgreement lease = new LeaseAgreement();
+            lease.setProperty(required(properties, dto.getPropertyId(), "Property"));
+            lease.setCustomer(required(customers, dto.getCustomerUserId(), "Customer"));
+            lease.setOwner(dto.getOwnerUserId() == null ? null : required(owners, dto.getOwnerUserId(), "Owner"));
+            LeaseAgreementMapper.updateEntity(lease, dto);
+            entityManager.persist(lease);
+
+            // Send the batch and drop it from the persistence context so memory stays flat
+            if ((i + 1) % IMPORT_CHUNK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        events.publishEvent(new LeasesImportedEvent(customers.keySet()));
+        return dtos.size();
+    }
+
+    private static Set<Long> ids(List<LeaseAgreementRequestDTO> dtos, Function<LeaseAgreementRequestDTO, Long> id) {
+        return dtos.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> T required(Map<Long, T> rows, Long id, String name) {
+        T row = rows.get(id);
+        if (row == null) {
+            throw new RuntimeException(name + " not found: " + id);
+        }
+        return row;
+    }
+
+    // Maps the saved row and tells the dashboard read model about it
+    private LeaseAgreementResponseDTO saved(LeaseAgreement lease, Long previousCustomerId) {
+        LeaseAgreementResponseDTO response = LeaseAgreementMapper.toResponse(lease);
+        events.publishEvent(new LeaseEvent(
+                response.getCustomerUserId(), previousCustomerId, response.getLeaseId(), response));
+        return response;
     }
 }
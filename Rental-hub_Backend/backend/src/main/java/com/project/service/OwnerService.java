@@ -1,5 +1,6 @@
 package com.project.service;
 
+import java.util.Collection;
 import java.util.List;
 import com.project.dto.OwnerRegisterDTO;
 import com.project.dto.OwnerResponseDTO;
@@ -12,6 +13,9 @@ public interface OwnerService {
 
     OwnerResponseDTO getOwnerById(Long id);
 
+    // Unknown ids are skipped rather than failing the whole batch
+    List<OwnerResponseDTO> getOwnersByIds(Collection<Long> ids);
+
     OwnerResponseDTO updateOwner(Long id, OwnerRegisterDTO dto);
 
     String deleteOwner(Long id);
@@ -1,8 +1,10 @@
 package com.project.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,24 +13,35 @@ import com.project.dto.OwnerRegisterDTO;
 import com.project.dto.OwnerResponseDTO;
 import com.project.entities.Owner;
 import com.project.entities.Role;
+import com.project.event.OwnerEvent;
 import com.project.exception.DuplicateResourceException;
 import com.project.exception.ResourceNotFoundException;
+import com.project.mapper.OwnerMapper;
 import com.project.repository.OwnerRepository;
+import com.project.security.TokenRevocationList;
 
 @Service
 @Transactional
 public class OwnerServiceImpl implements OwnerService {
 
+    private static final int MAX_BATCH_IDS = 1000;
+
     private final OwnerRepository ownerRepository;
-    private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList revocationList;
+    private final CustomUserDetailsService userDetailsService;
+    private final ApplicationEventPublisher events;
 
     public OwnerServiceImpl(OwnerRepository ownerRepository,
-                            ModelMapper modelMapper,
-                            PasswordEncoder passwordEncoder) {
+                            PasswordEncoder passwordEncoder,
+                            TokenRevocationList revocationList,
+                            CustomUserDetailsService userDetailsService,
+                            ApplicationEventPublisher events) {
         this.ownerRepository = ownerRepository;
-        this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.events = events;
     }
 
     @Override
@@ -38,25 +51,20 @@ public class OwnerServiceImpl implements OwnerService {
             throw new DuplicateResourceException("Email already registered");
         }
 
-        Owner owner = new Owner();
-        owner.setFirstName(dto.getFirstName());
-        owner.setLastName(dto.getLastName());
-        owner.setEmail(dto.getEmail());
-        owner.setPhno(dto.getPhno());
-        owner.setDob(dto.getDob());
+        Owner owner = OwnerMapper.toEntity(dto);
         owner.setPassword(passwordEncoder.encode(dto.getPassword()));
         owner.setRole(Role.OWNER);
         owner.setVerifiedStatus(false); // default
 
         Owner saved = ownerRepository.save(owner);
-        return modelMapper.map(saved, OwnerResponseDTO.class);
+        return OwnerMapper.toResponse(saved);
     }
 
     @Override
     public List<OwnerResponseDTO> getAllOwners() {
         return ownerRepository.findAll()
                 .stream()
-                .map(owner -> modelMapper.map(owner, OwnerResponseDTO.class))
+                .map(OwnerMapper::toResponse)
                 .toList();
     }
 
@@ -65,7 +73,7 @@ public class OwnerServiceImpl implements OwnerService {
         Owner owner = ownerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Owner not found with id: " + id));
 
-        return modelMapper.map(owner, OwnerResponseDTO.class);
+        return OwnerMapper.toResponse(owner);
     }
 
     @Override
@@ -74,17 +82,21 @@ public class OwnerServiceImpl implements OwnerService {
         Owner owner = ownerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Owner not found"));
 
-        owner.setFirstName(dto.getFirstName());
-        owner.setLastName(dto.getLastName());
-        owner.setPhno(dto.getPhno());
-        owner.setDob(dto.getDob());
+        String email = owner.getEmail();
+        OwnerMapper.updateEntity(owner, dto);
 
         if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
             owner.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
 
         Owner updated = ownerRepository.save(owner);
-        return modelMapper.map(updated, OwnerResponseDTO.class);
+        userDetailsService.evictUser(id);
+        // Stateless tokens carry the email: make the user sign in again
+        if (!Objects.equals(email, updated.getEmail())) {
+            revocationList.revoke(id);
+        }
+        events.publishEvent(new OwnerEvent(id));
+        return OwnerMapper.toResponse(updated);
     }
 
     @Override
@@ -94,14 +106,29 @@ public class OwnerServiceImpl implements OwnerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Owner not found"));
 
         ownerRepository.delete(owner);
+        revocationList.revoke(id);
+        userDetailsService.evictUser(id);
+        events.publishEvent(new OwnerEvent(id));
         return "Owner deleted";
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<OwnerResponseDTO> getOwnersByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per batch");
+        }
+        return ownerRepository.findAllById(ids)
+                .stream()
+                .map(OwnerMapper::toResponse)
+                .toList();
+    }
+
     @Override
     public OwnerResponseDTO getOwnerByEmail(String email) {
         Owner owner = ownerRepository.findByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("Owner not found with email: " + email));
-        return modelMapper.map(owner, OwnerResponseDTO.class);
+        return OwnerMapper.toResponse(owner);
     }
 
 
@@ -0,0 +1,92 @@
+package com.project.service;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.project.event.CustomerEvent;
+import com.project.event.LeaseEvent;
+import com.project.event.OwnerEvent;
+import com.project.security.CustomUserDetails;
+import com.project.security.JwtUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells payment-service to drop its cached copy of a customer, owner or
+ * lease after the change commits. Disabled unless payment-service.url is
+ * set; payment-service still expires entries on its own TTL either way.
+ */
+@Slf4j
+@Component
+public class PaymentCacheNotifier {
+
+    private static final int TIMEOUT_MILLIS = 2000;
+
+    private final RestClient restClient;
+    private final JwtUtil jwtUtil;
+    private final Executor executor;
+
+    public PaymentCacheNotifier(@Value("${payment-service.url:}") String paymentServiceUrl,
+                                JwtUtil jwtUtil,
+                                @Qualifier("notificationExecutor") Executor executor) {
+        this.jwtUtil = jwtUtil;
+        this.executor = executor;
+
+        if (paymentServiceUrl.isBlank()) {
+            this.restClient = null;
+        } else {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(TIMEOUT_MILLIS);
+            requestFactory.setReadTimeout(TIMEOUT_MILLIS);
+            this.restClient = RestClient.builder()
+                    .baseUrl(paymentServiceUrl)
+                    .requestFactory(requestFactory)
+                    .build();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomer(CustomerEvent event) {
+        evict("/api/cache/users/{id}", event.getCustomerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOwner(OwnerEvent event) {
+        evict("/api/cache/users/{id}", event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLease(LeaseEvent event) {
+        evict("/api/cache/leases/{id}", event.getLeaseId());
+    }
+
+    private void evict(String path, Long id) {
+        if (restClient == null) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                restClient.delete()
+                        .uri(path, id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceToken())
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                log.warn("Payment cache eviction {} {} failed: {}", path, id, e.getMessage());
+            }
+        });
+    }
+
+    // Signed with the shared secret; payment-service only lets ROLE_SERVICE evict
+    private String serviceToken() {
+        return jwtUtil.generateToken(new CustomUserDetails(0L, "main-backend", "ROLE_SERVICE"));
+    }
+}
@@ -0,0 +1,279 @@
+package com.project.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.event.PropertiesImportedEvent;
+import com.project.event.PropertyEvent;
+import com.project.repository.PropertyRepository;
+import com.project.repository.PropertyRepository.FilterColumns;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Roaring bitmaps of property ids per availability, property type and rent
+ * band. A filter combination becomes bitmap ANDs/ORs that yield the
+ * matching ids in id order, so search only loads the rows of the page.
+ * Built at startup from the filter columns alone and kept current from
+ * PropertyEvent / PropertiesImportedEvent. Until the first build finishes
+ * (or if an id ever outgrows an int) callers get no answer and use SQL.
+ */
+@Slf4j
+@Component
+public class PropertyBitmapIndex {
+
+    // Rent bands are this wide; rents past the last band share it
+    static final double RENT_BAND_WIDTH = 1_000;
+    private static final int RENT_BANDS = 200;
+
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serialises read-then-apply so an older read can never be applied last
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private Bitmaps bitmaps;   // guarded by lock; null until built
+    private volatile Set<Long> touchedDuringRebuild;
+
+    public PropertyBitmapIndex(PropertyRepository propertyRepository, PlatformTransactionManager transactionManager) {
+        this.propertyRepository = propertyRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    private static final class Bitmaps {
+        final RoaringBitmap all = new RoaringBitmap();
+        final RoaringBitmap available = new RoaringBitmap();
+        final Map<String, RoaringBitmap> byType = new HashMap<>();
+        final RoaringBitmap[] byRentBand = new RoaringBitmap[RENT_BANDS];
+
+        Bitmaps() {
+            for (int i = 0; i < RENT_BANDS; i++) {
+                byRentBand[i] = new RoaringBitmap();
+            }
+        }
+
+        void put(FilterColumns row) {
+            int id = row.getId().intValue();
+            remove(id);
+            all.add(id);
+            if (Boolean.TRUE.equals(row.getAvailable())) {
+                available.add(id);
+            }
+            if (row.getType() != null) {
+                byType.computeIfAbsent(typeKey(row.getType()), t -> new RoaringBitmap()).add(id);
+            }
+            if (row.getRent() != null) {
+                byRentBand[rentBand(row.getRent())].add(id);
+            }
+        }
+
+        // No reverse map from id to old values: clearing the bit everywhere is cheap enough
+        void remove(int id) {
+            if (!all.checkedRemove(id)) {
+                return;
+            }
+            available.remove(id);
+            byType.values().forEach(bitmap -> bitmap.remove(id));
+            for (RoaringBitmap band : byRentBand) {
+                band.remove(id);
+            }
+        }
+    }
+
+    // ================= BUILD =================
+
+    // Runs before requests are likely; search uses SQL until it is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Property bitmap index build failed; searches fall back to SQL", e);
+        }
+    }
+
+    /**
+     * Builds fresh bitmaps from the table and swaps them in. Properties
+     * written meanwhile are re-read afterwards, since the scan may have
+     * seen them before the change.
+     *
+     * @return number of properties indexed
+     */
+    public long rebuild() {
+        long started = System.currentTimeMillis();
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringRebuild = touched;
+        try {
+            Bitmaps fresh = readOnlyTx.execute(status -> {
+                Bitmaps built = new Bitmaps();
+                try (Stream<FilterColumns> rows = propertyRepository.streamFilterColumns()) {
+                    rows.forEach(row -> {
+                        requireIntId(row.getId());
+                        built.put(row);
+                    });
+                }
+                return built;
+            });
+            fresh.all.runOptimize();
+            fresh.available.runOptimize();
+
+            lock.writeLock().lock();
+            try {
+                bitmaps = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Property bitmap index built: {} properties, {} KB in {} ms",
+                    fresh.all.getLongCardinality(), sizeInBytes(fresh) / 1024, System.currentTimeMillis() - started);
+            return fresh.all.getLongCardinality();
+        } finally {
+            touchedDuringRebuild = null;
+            apply(touched);
+        }
+    }
+
+    // ================= INCREMENTAL UPDATES =================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProperty(PropertyEvent event) {
+        if (event.getPropertyId() != null) {
+            apply(List.of(event.getPropertyId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        apply(event.getPropertyIds());
+    }
+
+    // Re-reads the committed filter columns; ids with no row are removed.
+    // Read and apply both run under updateLock, so a later apply always read
+    // later too; searches only wait for the bitmap update itself.
+    private void apply(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.addAll(ids);
+        }
+
+        updateLock.lock();
+        try {
+            List<FilterColumns> rows = propertyRepository.findFilterColumnsByIdIn(ids);
+            lock.writeLock().lock();
+            try {
+                if (bitmaps == null) {
+                    return;
+                }
+                for (Long id : ids) {
+                    if (id > Integer.MAX_VALUE) {
+                        bitmaps = null;
+                        log.warn("Property id {} does not fit the bitmap index; searches fall back to SQL", id);
+                        return;
+                    }
+                    bitmaps.remove(id.intValue());
+                }
+                rows.forEach(bitmaps::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // ================= QUERY =================
+
+    /**
+     * Ids matching every given filter (null = not filtered), or null when
+     * the index is not available. Rents are matched by band, so ids in the
+     * bands holding minRent / maxRent may fall just outside the range and
+     * must be checked against the row.
+     */
+    public RoaringBitmap candidates(String propertyType, Boolean available, Double minRent, Double maxRent) {
+        lock.readLock().lock();
+        try {
+            if (bitmaps == null) {
+                return null;
+            }
+
+            RoaringBitmap result = bitmaps.all.clone();
+            if (available != null) {
+                if (available) {
+                    result.and(bitmaps.available);
+                } else {
+                    result.andNot(bitmaps.available);
+                }
+            }
+            if (propertyType != null) {
+                RoaringBitmap type = bitmaps.byType.get(typeKey(propertyType));
+                if (type == null) {
+                    return new RoaringBitmap();
+                }
+                result.and(type);
+            }
+            if (minRent != null || maxRent != null) {
+                int from = minRent == null ? 0 : rentBand(minRent);
+                int to = maxRent == null ? RENT_BANDS - 1 : rentBand(maxRent);
+                List<RoaringBitmap> bands = new ArrayList<>(Math.max(0, to - from + 1));
+                for (int band = from; band <= to; band++) {
+                    bands.add(bitmaps.byRentBand[band]);
+                }
+                result.and(FastAggregation.or(bands.iterator()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int rentBand(double rent) {
+        if (!(rent > 0)) {
+            return 0;
+        }
+        return (int) Math.min(RENT_BANDS - 1, Math.floor(rent / RENT_BAND_WIDTH));
+    }
+
+    // Same grouping as the MySQL column (case-insensitive collation)
+    private static String typeKey(String propertyType) {
+        return propertyType.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static void requireIntId(Long id) {
+        if (id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Property id " + id + " does not fit the bitmap index");
+        }
+    }
+
+    private static long sizeInBytes(Bitmaps bitmaps) {
+        long bytes = bitmaps.all.getLongSizeInBytes() + bitmaps.available.getLongSizeInBytes();
+        for (RoaringBitmap bitmap : bitmaps.byType.values()) {
+            bytes += bitmap.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : bitmaps.byRentBand) {
+            bytes += bitmap.getLongSizeInBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.service;
+
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+
+import com.project.dto.BulkImportJobDTO;
+
+public interface PropertyImportService {
+
+    // Spools the body (text/csv or application/x-ndjson) to disk and imports it in the background
+    BulkImportJobDTO startImport(InputStream body, MediaType contentType);
+
+    // Progress and per-row errors; visible to the user who started the job and to admins
+    BulkImportJobDTO getImportJob(String jobId);
+}
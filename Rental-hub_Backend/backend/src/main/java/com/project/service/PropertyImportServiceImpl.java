@@ -0,0 +1,232 @@
+package com.project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.BulkImportErrorDTO;
+import com.project.dto.BulkImportJobDTO;
+import com.project.dto.PropertyRequestDTO;
+import com.project.exception.ResourceNotFoundException;
+import com.project.service.PropertyRowReader.Format;
+import com.project.service.PropertyRowReader.Row;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk property import as a background job. The request body is copied to a
+ * temp file, then read row by row; every BATCH_SIZE rows go to
+ * PropertyService.importRows in their own transaction (one owner and one agent
+ * query per batch, JDBC-batched inserts). Rows that fail parsing, validation
+ * or the ownership check are reported by row number and the rest still go in.
+ * Jobs live in memory and are dropped an hour after they finish.
+ */
+@Slf4j
+@Service
+public class PropertyImportServiceImpl implements PropertyImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Duration KEEP_FINISHED = Duration.ofHours(1);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final PropertyService propertyService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public PropertyImportServiceImpl(PropertyService propertyService,
+                                     ObjectMapper objectMapper,
+                                     @Qualifier("importExecutor") TaskExecutor executor) {
+        this.propertyService = propertyService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    @Override
+    public BulkImportJobDTO startImport(InputStream body, MediaType contentType) {
+        Format format = formatOf(contentType);
+        purgeFinished();
+
+        Path file = spool(body);
+        Job job = new Job(UUID.randomUUID().toString(),
+                SecurityContextHolder.getContext().getAuthentication().getName());
+        jobs.put(job.id, job);
+
+        // The job runs as the caller, so the per-row ownership check still applies
+        try {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(job, file, format)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            delete(file);
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public BulkImportJobDTO getImportJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (!isAdmin && (auth == null || !job.submittedBy.equals(auth.getName()))) {
+            throw new AccessDeniedException("Not your import job");
+        }
+        return job.snapshot();
+    }
+
+    private void run(Job job, Path file, Format format) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+
+        try (PropertyRowReader rows = new PropertyRowReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper)) {
+
+            Map<Long, PropertyRequestDTO> batch = new LinkedHashMap<>();
+            for (Row row = rows.next(); row != null; row = rows.next()) {
+                job.rowsRead.incrementAndGet();
+                if (row.error() != null) {
+                    job.fail(new BulkImportErrorDTO(row.number(), row.error()));
+                } else {
+                    batch.put(row.number(), row.dto());
+                }
+
+                if (batch.size() == BATCH_SIZE) {
+                    write(job, batch);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            write(job, batch);
+            job.finish("COMPLETED", null);
+
+        } catch (IOException | RuntimeException e) {
+            // Batches already written stay committed; the report says how far it got
+            log.warn("Property import {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private void write(Job job, Map<Long, PropertyRequestDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<BulkImportErrorDTO> errors = propertyService.importRows(batch);
+        job.rowsImported.addAndGet(batch.size() - errors.size());
+        errors.forEach(job::fail);
+    }
+
+    private static Format formatOf(MediaType contentType) {
+        if (MediaType.parseMediaType("text/csv").isCompatibleWith(contentType)) {
+            return Format.CSV;
+        }
+        if (NDJSON.isCompatibleWith(contentType)) {
+            return Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Content-Type must be text/csv or application/x-ndjson");
+    }
+
+    // Disk, not memory: the upload may be far larger than what we want on the heap
+    private static Path spool(InputStream body) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("property-import-", ".tmp");
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                delete(file);
+            }
+            throw new UncheckedIOException("Could not read the upload", e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(KEEP_FINISHED);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final String submittedBy;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final List<BulkImportErrorDTO> errors = new ArrayList<>();
+        private volatile String status = "QUEUED";
+        private volatile String message;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, String submittedBy) {
+            this.id = id;
+            this.submittedBy = submittedBy;
+        }
+
+        private void fail(BulkImportErrorDTO error) {
+            rowsFailed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        private void finish(String status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private BulkImportJobDTO snapshot() {
+            // Parse errors are recorded as rows are read, validation errors per batch
+            List<BulkImportErrorDTO> reported;
+            synchronized (errors) {
+                reported = new ArrayList<>(errors);
+            }
+            reported.sort(Comparator.comparingLong(BulkImportErrorDTO::getRow));
+            return new BulkImportJobDTO(id, status, rowsRead.get(), rowsImported.get(), rowsFailed.get(),
+                    reported, rowsFailed.get() > reported.size(), message, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.project.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.PropertyRequestDTO;
+
+/**
+ * Reads bulk-import rows one at a time from CSV (header row with the
+ * PropertyRequestDTO field names, any order) or NDJSON (one JSON object per
+ * line). A row that cannot be parsed comes back with an error instead of a
+ * DTO, so one bad line doesn't stop the import.
+ */
+final class PropertyRowReader implements Closeable {
+
+    enum Format { CSV, NDJSON }
+
+    record Row(long number, PropertyRequestDTO dto, String error) {
+    }
+
+    private static final List<String> COLUMNS = List.of(
+            "title", "description", "address", "rentAmount", "propertyType", "isAvailable", "ownerId", "agentId",
+            "latitude", "longitude");
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> header;
+    private long rowNumber;
+
+    PropertyRowReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // Next row, or null at end of input
+    Row next() {
+        try {
+            return format == Format.CSV ? nextCsv() : nextJson();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ================= NDJSON =================
+
+    private Row nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long number = ++rowNumber;
+        try {
+            return new Row(number, objectMapper.readValue(line, PropertyRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(number, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // ================= CSV =================
+
+    private Row nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!header.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must name the columns: " + String.join(",", COLUMNS));
+            }
+        }
+
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        long number = ++rowNumber;
+        try {
+            return new Row(number, toDto(values), null);
+        } catch (IllegalArgumentException e) {
+            return new Row(number, null, e.getMessage());
+        }
+    }
+
+    private PropertyRequestDTO toDto(List<String> values) {
+        PropertyRequestDTO dto = new PropertyRequestDTO();
+        dto.setTitle(value(values, "title"));
+        dto.setDescription(value(values, "description"));
+        dto.setAddress(value(values, "address"));
+        dto.setPropertyType(value(values, "propertyType"));
+
+        String rent = value(values, "rentAmount");
+        String available = value(values, "isAvailable");
+        String ownerId = value(values, "ownerId");
+        String agentId = value(values, "agentId");
+        dto.setRentAmount(number(rent, "rentAmount"));
+        dto.setLatitude(number(value(values, "latitude"), "latitude"));
+        dto.setLongitude(number(value(values, "longitude"), "longitude"));
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("isAvailable must be true or false: " + available);
+        }
+        dto.setIsAvailable(available == null ? null : Boolean.valueOf(available));
+        dto.setOwnerId(id(ownerId, "ownerId"));
+        dto.setAgentId(id(agentId, "agentId"));
+        return dto;
+    }
+
+    // Missing column or empty cell → null
+    private String value(List<String> values, String column) {
+        Integer index = header.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double number(String value, String column) {
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Long id(String value, String column) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    // One RFC 4180 record: quoted fields may hold commas, "" and line breaks
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,543 @@
+package com.project.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import com.project.entities.Property;
+import com.project.event.PropertiesImportedEvent;
+import com.project.event.PropertyEvent;
+import com.project.repository.PropertyRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process Lucene index over property title, description, address and
+ * type, plus location (BKD tree), rent and type for nearby search and
+ * facet counts. The database stays the source of truth: the index is rebuilt from
+ * it at startup (and on demand), then kept current from PropertyEvent /
+ * PropertiesImportedEvent after each commit. Search only returns ranked
+ * ids; callers load the rows.
+ */
+@Slf4j
+@Component
+public class PropertySearchIndex {
+
+    private static final String ID = "id";
+    private static final String AVAILABLE = "available";
+    // title, description, address and type in one field: one fuzzy expansion per query term, not four
+    private static final String TEXT = "text";
+    private static final String TITLE = "title";
+    private static final String LOCATION = "location";
+    private static final String RENT = "rent";
+    private static final String TYPE = "propertyType";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // Longer queries are cut to this many terms to bound the clause count
+    private static final int MAX_QUERY_TERMS = 8;
+    // Upper bounds of the rent facet bands; the last band is open-ended
+    private static final double[] RENT_BANDS = {5_000, 10_000, 20_000, 50_000};
+
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final EntityManager entityManager;
+    private final String configuredPath;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Path path;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searchers;
+    private volatile Set<Long> touchedDuringRebuild;
+    // One rebuild at a time: an overlapping one would re-enable refreshes mid-way
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public PropertySearchIndex(PropertyRepository propertyRepository,
+                               PlatformTransactionManager transactionManager,
+                               EntityManager entityManager,
+                               @Value("${search.index.path:}") String configuredPath) {
+        this.propertyRepository = propertyRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.configuredPath = configuredPath;
+    }
+
+    // Memory-mapped files: a million listings stay off the heap
+    @PostConstruct
+    void open() throws IOException {
+        path = configuredPath.isBlank()
+                ? Files.createTempDirectory("property-index")
+                : Files.createDirectories(Path.of(configuredPath));
+        directory = new MMapDirectory(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searchers = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searchers.close();
+        writer.close();
+        directory.close();
+        if (configuredPath.isBlank()) {
+            FileSystemUtils.deleteRecursively(path);
+        }
+    }
+
+    // Startup load runs in the background; until it finishes, searches see an empty index
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofPlatform().name("property-index-rebuild").daemon().start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Property search index rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Replaces the index with the current table contents. Searchers are not
+     * refreshed while it runs, so searches keep the previous view until the
+     * new one is complete. Properties written meanwhile are re-indexed at the
+     * end, since the stream may have read them before the change.
+     *
+     * @return number of properties indexed
+     */
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private long rebuildLocked() {
+        long started = System.currentTimeMillis();
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringRebuild = touched;
+        try {
+            writer.deleteAll();
+            Long count = readOnlyTx.execute(status -> {
+                long indexed = 0;
+                try (Stream<Property> rows = propertyRepository.streamAll()) {
+                    Iterator<Property> it = rows.iterator();
+                    while (it.hasNext()) {
+                        Property property = it.next();
+                        writer.updateDocument(idTerm(property.getPropertyId()), toDocument(property));
+                        if (++indexed % REBUILD_BATCH_SIZE == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return indexed;
+            });
+            writer.commit();
+            searchers.maybeRefresh();
+            log.info("Property search index rebuilt: {} properties in {} ms",
+                    count, System.currentTimeMillis() - started);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            touchedDuringRebuild = null;
+            reindex(touched);
+        }
+    }
+
+    // ================= INCREMENTAL UPDATES =================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProperty(PropertyEvent event) {
+        if (event.getPropertyId() != null) {
+            reindex(List.of(event.getPropertyId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        reindex(event.getPropertyIds());
+    }
+
+    // Reads the committed rows and replaces their documents; ids with no row are removed
+    private void reindex(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.addAll(ids);
+        }
+
+        try {
+            Set<Long> missing = new HashSet<>(ids);
+            for (Property property : propertyRepository.findAllById(ids)) {
+                writer.updateDocument(idTerm(property.getPropertyId()), toDocument(property));
+                missing.remove(property.getPropertyId());
+            }
+            for (Long id : missing) {
+                writer.deleteDocuments(idTerm(id));
+            }
+
+            // Mid-rebuild the writer holds a half-filled index; rebuild()
+            // re-indexes these ids and refreshes once it is complete
+            if (touchedDuringRebuild == null) {
+                searchers.maybeRefresh();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ================= SEARCH =================
+
+    public record Hits(List<Long> ids, long totalHits, boolean hasMore) {
+    }
+
+    /**
+     * Ranked (BM25) keyword search. Every query term must match somewhere in
+     * the listing; title matches rank higher. Terms of 3+ characters also
+     * match with one typo, 6+ with two; exact matches still rank above fuzzy ones.
+     */
+    public Hits search(String text, Boolean available, int offset, int limit) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0, false);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        addTextClauses(query, terms);
+        if (available != null) {
+            query.add(new TermQuery(new Term(AVAILABLE, available.toString())), Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                // One extra hit tells whether another page exists
+                TopDocs top = searcher.search(query.build(), offset + limit + 1);
+                List<Long> ids = new ArrayList<>(limit);
+                ScoreDoc[] docs = top.scoreDocs;
+                for (int i = offset; i < Math.min(docs.length, offset + limit); i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(docs[i].doc).get(ID)));
+                }
+                return new Hits(ids, top.totalHits.value, docs.length > offset + limit);
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Facets(long total, Map<String, Long> propertyType,
+                         Map<String, Long> rent, Map<String, Long> availability) {
+    }
+
+    /**
+     * Counts per property type, rent band and availability over the listings
+     * matching the filters (all listings when none are given). One query,
+     * one pass over the matches' doc values; no database access.
+     */
+    public Facets facets(String text, String propertyType, Boolean available, Double minRent, Double maxRent) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(new MatchAllDocsQuery(), Occur.FILTER);
+        addTextClauses(query, analyze(text));
+        if (propertyType != null) {
+            query.add(new TermQuery(new Term(TYPE, typeKey(propertyType))), Occur.FILTER);
+        }
+        if (available != null) {
+            query.add(new TermQuery(new Term(AVAILABLE, available.toString())), Occur.FILTER);
+        }
+        if (minRent != null || maxRent != null) {
+            query.add(DoublePoint.newRangeQuery(RENT,
+                    minRent == null ? Double.NEGATIVE_INFINITY : minRent,
+                    maxRent == null ? Double.POSITIVE_INFINITY : maxRent), Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                FacetCollector counts = new FacetCollector();
+                searcher.search(query.build(), counts);
+                return counts.result();
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class FacetCollector extends SimpleCollector {
+
+        private final Map<String, Long> types = new HashMap<>();
+        private final long[] rentBands = new long[RENT_BANDS.length + 1];
+        private final long[] availability = new long[2];
+        private long total;
+
+        private SortedDocValues typeValues;
+        private NumericDocValues rentValues;
+        private NumericDocValues availableValues;
+        // Per-segment counts by ordinal; names are looked up once per segment, not per document
+        private long[] typeOrdCounts;
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            flushTypes();
+            typeValues = DocValues.getSorted(context.reader(), TYPE);
+            rentValues = DocValues.getNumeric(context.reader(), RENT);
+            availableValues = DocValues.getNumeric(context.reader(), AVAILABLE);
+            typeOrdCounts = new long[typeValues.getValueCount()];
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            total++;
+            if (typeValues.advanceExact(doc)) {
+                typeOrdCounts[typeValues.ordValue()]++;
+            }
+            if (rentValues.advanceExact(doc)) {
+                rentBands[rentBand(Double.longBitsToDouble(rentValues.longValue()))]++;
+            }
+            if (availableValues.advanceExact(doc)) {
+                availability[(int) availableValues.longValue()]++;
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        private void flushTypes() throws IOException {
+            if (typeOrdCounts == null) {
+                return;
+            }
+            for (int ord = 0; ord < typeOrdCounts.length; ord++) {
+                if (typeOrdCounts[ord] > 0) {
+                    types.merge(typeValues.lookupOrd(ord).utf8ToString(), typeOrdCounts[ord], Long::sum);
+                }
+            }
+            typeOrdCounts = null;
+        }
+
+        Facets result() throws IOException {
+            flushTypes();
+
+            Map<String, Long> byType = new LinkedHashMap<>();
+            types.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> byType.put(e.getKey(), e.getValue()));
+
+            Map<String, Long> byRent = new LinkedHashMap<>();
+            for (int i = 0; i < rentBands.length; i++) {
+                byRent.put(rentBandLabel(i), rentBands[i]);
+            }
+
+            Map<String, Long> byAvailability = new LinkedHashMap<>();
+            byAvailability.put("available", availability[1]);
+            byAvailability.put("unavailable", availability[0]);
+
+            return new Facets(total, byType, byRent, byAvailability);
+        }
+    }
+
+    private static int rentBand(double rent) {
+        int band = 0;
+        while (band < RENT_BANDS.length && rent >= RENT_BANDS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    // "0-5000", "5000-10000", ..., "50000+"
+    private static String rentBandLabel(int band) {
+        long from = band == 0 ? 0 : (long) RENT_BANDS[band - 1];
+        return band == RENT_BANDS.length ? from + "+" : from + "-" + (long) RENT_BANDS[band];
+    }
+
+    public record NearbyHit(Long id, double distanceMeters) {
+    }
+
+    /**
+     * Located properties within radiusMeters of the point, nearest first.
+     * The circle is answered from the BKD point tree, so only cells that
+     * overlap it are visited; rent and availability are filters on top.
+     */
+    public List<NearbyHit> nearby(double lat, double lng, double radiusMeters,
+                                  Double maxRent, Boolean available, int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(LatLonPoint.newDistanceQuery(LOCATION, lat, lng, radiusMeters), Occur.FILTER);
+        if (maxRent != null) {
+            query.add(DoublePoint.newRangeQuery(RENT, Double.NEGATIVE_INFINITY, maxRent), Occur.FILTER);
+        }
+        if (available != null) {
+            query.add(new TermQuery(new Term(AVAILABLE, available.toString())), Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                TopFieldDocs top = searcher.search(query.build(), limit,
+                        new Sort(LatLonDocValuesField.newDistanceSort(LOCATION, lat, lng)));
+                List<NearbyHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc doc : top.scoreDocs) {
+                    hits.add(new NearbyHit(Long.valueOf(searcher.storedFields().document(doc.doc).get(ID)),
+                            (Double) ((FieldDoc) doc).fields[0]));
+                }
+                return hits;
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Every term must match somewhere; title matches score higher
+    private static void addTextClauses(BooleanQuery.Builder query, List<String> terms) {
+        for (String term : terms) {
+            query.add(matchTerm(term), Occur.MUST);
+            query.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 2f), Occur.SHOULD);
+        }
+    }
+
+    private static Query matchTerm(String term) {
+        TermQuery exact = new TermQuery(new Term(TEXT, term));
+        int edits = term.length() >= 6 ? 2 : term.length() >= 3 ? 1 : 0;
+        if (edits == 0) {
+            return exact;
+        }
+        // A fixed first letter keeps the fuzzy expansion cheap on a large term dictionary
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(exact, 2f), Occur.SHOULD)
+                .add(new FuzzyQuery(new Term(TEXT, term), edits, 1), Occur.SHOULD)
+                .build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(TEXT, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // Types are free text on the entity; facets and filters group them case-insensitively
+    private static String typeKey(String propertyType) {
+        return propertyType.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, id.toString());
+    }
+
+    private static Document toDocument(Property property) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, property.getPropertyId().toString(), Field.Store.YES));
+        boolean available = Boolean.TRUE.equals(property.getIsAvailable());
+        doc.add(new StringField(AVAILABLE, String.valueOf(available), Field.Store.NO));
+        doc.add(new NumericDocValuesField(AVAILABLE, available ? 1 : 0));
+        if (property.getPropertyType() != null) {
+            String type = typeKey(property.getPropertyType());
+            doc.add(new StringField(TYPE, type, Field.Store.NO));
+            doc.add(new SortedDocValuesField(TYPE, new BytesRef(type)));
+        }
+        doc.add(new TextField(TITLE, Objects.toString(property.getTitle(), ""), Field.Store.NO));
+        doc.add(new TextField(TEXT, Stream.of(property.getTitle(), property.getDescription(),
+                        property.getAddress(), property.getPropertyType())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n")), Field.Store.NO));
+        if (property.getRentAmount() != null) {
+            doc.add(new DoublePoint(RENT, property.getRentAmount()));
+            doc.add(new DoubleDocValuesField(RENT, property.getRentAmount()));
+        }
+        if (property.getLatitude() != null && property.getLongitude() != null) {
+            doc.add(new LatLonPoint(LOCATION, property.getLatitude(), property.getLongitude()));
+            doc.add(new LatLonDocValuesField(LOCATION, property.getLatitude(), property.getLongitude()));
+        }
+        return doc;
+    }
+}
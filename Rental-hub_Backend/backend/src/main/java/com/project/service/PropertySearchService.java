@@ -0,0 +1,20 @@
+package com.project.service;
+
+import java.util.List;
+
+import com.project.dto.NearbyPropertyDTO;
+import com.project.dto.PropertyFacetsDTO;
+import com.project.dto.PropertyTextPageDTO;
+
+public interface PropertySearchService {
+
+    // Ranked keyword search over title, description, address and type (typos tolerated)
+    PropertyTextPageDTO searchText(String query, Boolean available, int page, int size);
+
+    // Located properties within radiusKm of the point, nearest first
+    List<NearbyPropertyDTO> searchNearby(double lat, double lng, double radiusKm,
+                                         Double maxRent, Boolean available, int size);
+
+    // Type / rent band / availability counts for the listings matching the filters
+    PropertyFacetsDTO facets(String query, String propertyType, Boolean available, Double minRent, Double maxRent);
+}
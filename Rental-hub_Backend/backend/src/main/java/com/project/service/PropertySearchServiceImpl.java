@@ -0,0 +1,101 @@
+package com.project.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.dto.NearbyPropertyDTO;
+import com.project.dto.PropertyFacetsDTO;
+import com.project.dto.PropertyResponseDTO;
+import com.project.dto.PropertyTextPageDTO;
+import com.project.entities.Property;
+import com.project.mapper.PropertyMapper;
+import com.project.repository.PropertyRepository;
+
+@Service
+public class PropertySearchServiceImpl implements PropertySearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deep offsets cost a full top-N sort each; past this, refine the query instead
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final double MAX_RADIUS_KM = 100;
+
+    private final PropertySearchIndex index;
+    private final PropertyRepository propertyRepository;
+
+    public PropertySearchServiceImpl(PropertySearchIndex index, PropertyRepository propertyRepository) {
+        this.index = index;
+        this.propertyRepository = propertyRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyTextPageDTO searchText(String query, Boolean available, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Results are limited to the first " + MAX_RESULT_WINDOW + " matches");
+        }
+
+        PropertySearchIndex.Hits hits = index.search(query, available, page * size, size);
+
+        // One query for the page, then back into rank order
+        Map<Long, Property> byId = propertyRepository.findByPropertyIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Property::getPropertyId, Function.identity()));
+        List<PropertyResponseDTO> content = hits.ids().stream()
+                .map(byId::get)
+                .filter(p -> p != null)
+                .map(PropertyMapper::toResponse)
+                .toList();
+
+        return new PropertyTextPageDTO(content, page, size, hits.totalHits(), hits.hasMore());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyPropertyDTO> searchNearby(double lat, double lng, double radiusKm,
+                                                Double maxRent, Boolean available, int size) {
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("lat must be between -90 and 90 and lng between -180 and 180");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<PropertySearchIndex.NearbyHit> hits = index.nearby(lat, lng, radiusKm * 1000, maxRent, available, size);
+
+        Map<Long, Property> byId = propertyRepository.findByPropertyIdIn(
+                        hits.stream().map(PropertySearchIndex.NearbyHit::id).toList()).stream()
+                .collect(Collectors.toMap(Property::getPropertyId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.id()))
+                .map(hit -> new NearbyPropertyDTO(PropertyMapper.toResponse(byId.get(hit.id())),
+                        Math.round(hit.distanceMeters()) / 1000.0))
+                .toList();
+    }
+
+    // Answered from the index alone
+    @Override
+    public PropertyFacetsDTO facets(String query, String propertyType, Boolean available,
+                                    Double minRent, Double maxRent) {
+        if (minRent != null && maxRent != null && minRent > maxRent) {
+            throw new IllegalArgumentException("minRent must not exceed maxRent");
+        }
+
+        PropertySearchIndex.Facets facets = index.facets(query,
+                propertyType == null || propertyType.isBlank() ? null : propertyType,
+                available, minRent, maxRent);
+        return new PropertyFacetsDTO(facets.total(), facets.propertyType(), facets.rent(), facets.availability());
+    }
+}
@@ -1,8 +1,13 @@
 package com.project.service;
 
 import java.util.List;
+import java.util.Map;
+
+import com.project.dto.BulkImportErrorDTO;
+import com.project.dto.PropertyPageDTO;
 import com.project.dto.PropertyRequestDTO;
 import com.project.dto.PropertyResponseDTO;
+import com.project.dto.PropertySearchDTO;
 
 public interface PropertyService {
 
@@ -12,6 +17,12 @@ public interface PropertyService {
 
     PropertyResponseDTO getPropertyById(Long id);
 
+    // Strong ETags from version columns, computed without loading the entities;
+    // null when the property does not exist
+    String getPropertyETag(Long id);
+
+    String getAvailablePropertiesETag();
+
     PropertyResponseDTO updateProperty(Long id, PropertyRequestDTO dto);
 
     String deleteProperty(Long id);
@@ -24,4 +35,13 @@ public interface PropertyService {
     List<PropertyResponseDTO> getPropertiesByAgent(Long agentId);
 
     PropertyResponseDTO markPropertyAvailability(Long id, Boolean status);
+
+    PropertyPageDTO searchProperties(PropertySearchDTO criteria);
+
+    // Inserts the rows in JDBC batches, all or nothing; returns the number imported
+    int importProperties(List<PropertyRequestDTO> dtos);
+
+    // Writes the rows (keyed by row number) that pass validation and the ownership
+    // check, in JDBC batches; returns an error for each row that did not
+    List<BulkImportErrorDTO> importRows(Map<Long, PropertyRequestDTO> rows);
 }
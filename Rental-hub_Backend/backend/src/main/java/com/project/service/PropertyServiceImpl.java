@@ -1,40 +1,70 @@
 package com.project.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.project.dto.BulkImportErrorDTO;
+import com.project.dto.PropertyPageDTO;
 import com.project.dto.PropertyRequestDTO;
 import com.project.dto.PropertyResponseDTO;
+import com.project.dto.PropertySearchDTO;
 import com.project.entities.Agent;
 import com.project.entities.Owner;
 import com.project.entities.Property;
+import com.project.event.PropertiesImportedEvent;
+import com.project.event.PropertyEvent;
 import com.project.exception.ResourceNotFoundException;
+import com.project.mapper.PropertyMapper;
 import com.project.repository.AgentRepository;
 import com.project.repository.OwnerRepository;
 import com.project.repository.PropertyRepository;
+import com.project.repository.PropertyRepository.VersionVector;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 @Transactional
 public class PropertyServiceImpl implements PropertyService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Matches hibernate.jdbc.batch_size: one flush per batch, then the session is cleared
+    private static final int IMPORT_CHUNK_SIZE = 50;
+
     private final PropertyRepository propertyRepository;
     private final OwnerRepository ownerRepository;
     private final AgentRepository agentRepository;
-    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher events;
+    private final EntityManager entityManager;
+    private final PropertyBitmapIndex bitmapIndex;
 
     public PropertyServiceImpl(PropertyRepository propertyRepository,
                                OwnerRepository ownerRepository,
                                AgentRepository agentRepository,
-                               ModelMapper modelMapper) {
+                               ApplicationEventPublisher events,
+                               EntityManager entityManager,
+                               PropertyBitmapIndex bitmapIndex) {
         this.propertyRepository = propertyRepository;
         this.ownerRepository = ownerRepository;
         this.agentRepository = agentRepository;
-        this.modelMapper = modelMapper;
+        this.events = events;
+        this.entityManager = entityManager;
+        this.bitmapIndex = bitmapIndex;
     }
 
     // ================= ADD PROPERTY =================
@@ -45,8 +75,9 @@ public class PropertyServiceImpl implements PropertyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Owner not found"));
 
         validateOwnerOrAdmin(owner);   // 🔐 SECURITY CHECK
+        validateLocation(dto);
 
-        Property property = modelMapper.map(dto, Property.class);
+        Property property = PropertyMapper.toEntity(dto);
         property.setOwner(owner);
 
         if (dto.getAgentId() != null) {
@@ -57,14 +88,14 @@ public class PropertyServiceImpl implements PropertyService {
             property.setAgent(null); // Optional agent
         }
 
-        return mapToResponse(propertyRepository.save(property));
+        return saved(propertyRepository.save(property), false);
     }
 
     // ================= GET ALL =================
     @Override
     public List<PropertyResponseDTO> getAllProperties() {
         return propertyRepository.findAll()
-                .stream().map(this::mapToResponse)
+                .stream().map(PropertyMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -73,7 +104,34 @@ public class PropertyServiceImpl implements PropertyService {
     public PropertyResponseDTO getPropertyById(Long id) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
-        return mapToResponse(property);
+        return PropertyMapper.toResponse(property);
+    }
+
+    // ================= ETAGS =================
+    // Scalar version reads only: a matching If-None-Match costs no entity
+    // load and no mapping. Read before the body, so a write racing with the
+    // GET leaves the client holding an older tag, never a newer one.
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getPropertyETag(Long id) {
+        VersionVector vector = propertyRepository.versionVectorById(id);
+        return vector.getRows() == 0 ? null : eTag("p" + id, vector);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAvailablePropertiesETag() {
+        return eTag("available", propertyRepository.versionVectorOfAvailable());
+    }
+
+    private static String eTag(String prefix, VersionVector vector) {
+        return "\"" + prefix
+                + "-" + Long.toHexString(vector.getRows())
+                + "-" + Long.toHexString(Objects.requireNonNullElse(vector.getVersions(), 0L))
+                + "-" + Long.toHexString(Objects.requireNonNullElse(vector.getWeighted(), 0L))
+                + "-" + Long.toHexString(Objects.requireNonNullElse(vector.getUserVersions(), 0L))
+                + "\"";
     }
 
     // ================= UPDATE PROPERTY =================
@@ -84,13 +142,10 @@ public class PropertyServiceImpl implements PropertyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
         validateOwnerOrAdmin(property.getOwner()); // 🔐 Only owner or admin can update
+        validateLocation(dto);
 
-        property.setTitle(dto.getTitle());
-        property.setDescription(dto.getDescription());
-        property.setAddress(dto.getAddress());
-        property.setRentAmount(dto.getRentAmount());
-        property.setPropertyType(dto.getPropertyType());
-        property.setIsAvailable(dto.getIsAvailable());
+        String previousTitle = property.getTitle();
+        PropertyMapper.updateEntity(property, dto);
 
         if (dto.getAgentId() != null) {
             Agent agent = agentRepository.findById(dto.getAgentId())
@@ -100,7 +155,7 @@ public class PropertyServiceImpl implements PropertyService {
             property.setAgent(null);
         }
 
-        return mapToResponse(propertyRepository.save(property));
+        return saved(propertyRepository.save(property), !Objects.equals(previousTitle, property.getTitle()));
     }
 
     // ================= DELETE PROPERTY =================
@@ -113,6 +168,7 @@ public class PropertyServiceImpl implements PropertyService {
         validateOwnerOrAdmin(property.getOwner()); // 🔐 Only owner or admin can delete
 
         propertyRepository.delete(property);
+        events.publishEvent(new PropertyEvent(id, property.getTitle(), false));
         return "Property deleted";
     }
 
@@ -120,7 +176,7 @@ public class PropertyServiceImpl implements PropertyService {
     @Override
     public List<PropertyResponseDTO> getAvailableProperties() {
         return propertyRepository.findByIsAvailableTrue()
-                .stream().map(this::mapToResponse)
+                .stream().map(PropertyMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -136,7 +192,7 @@ public class PropertyServiceImpl implements PropertyService {
     @Override
     public List<PropertyResponseDTO> getPropertiesByOwner(Long ownerId) {
         return propertyRepository.findByOwnerUserId(ownerId)
-                .stream().map(this::mapToResponse)
+                .stream().map(PropertyMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -144,7 +200,7 @@ public class PropertyServiceImpl implements PropertyService {
     @Override
     public List<PropertyResponseDTO> getPropertiesByAgent(Long agentId) {
         return propertyRepository.findByAgentUserId(agentId)
-                .stream().map(this::mapToResponse)
+                .stream().map(PropertyMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -157,11 +213,250 @@ public class PropertyServiceImpl implements PropertyService {
         validateOwnerOrAdmin(property.getOwner()); // 🔐 Only owner or admin can change availability
 
         property.setIsAvailable(status);
-        return mapToResponse(propertyRepository.save(property));
+        return saved(propertyRepository.save(property), false);
+    }
+
+    // ================= SEARCH (KEYSET PAGINATION) =================
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyPageDTO searchProperties(PropertySearchDTO criteria) {
+
+        if (criteria.getMinRent() != null && criteria.getMaxRent() != null
+                && criteria.getMinRent() > criteria.getMaxRent()) {
+            throw new IllegalArgumentException("minRent cannot be greater than maxRent");
+        }
+
+        int size = criteria.getSize() == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(criteria.getSize(), MAX_PAGE_SIZE));
+
+        // Trimmed once here so the index and SQL paths filter on the same value
+        String propertyType = criteria.getPropertyType() == null ? null : criteria.getPropertyType().trim();
+
+        // Availability / type / rent filters: the bitmap index picks the page's ids, only those rows are loaded
+        RoaringBitmap candidates = criteria.getOwnerId() == null && criteria.getAgentId() == null
+                && (criteria.getCursor() == null || criteria.getCursor() < Integer.MAX_VALUE)
+                ? bitmapIndex.candidates(propertyType, criteria.getIsAvailable(),
+                        criteria.getMinRent(), criteria.getMaxRent())
+                : null;
+
+        // Fetch one extra row to know whether another page exists
+        List<Property> rows = candidates != null
+                ? pageOf(candidates, criteria, propertyType, size + 1)
+                : propertyRepository.searchAfter(
+                        criteria.getCursor(),
+                        criteria.getMinRent(),
+                        criteria.getMaxRent(),
+                        propertyType,
+                        criteria.getIsAvailable(),
+                        criteria.getOwnerId(),
+                        criteria.getAgentId(),
+                        size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<PropertyResponseDTO> content = rows.stream()
+                .limit(size)
+                .map(PropertyMapper::toResponse)
+                .collect(Collectors.toList());
+
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getPropertyId() : null;
+        return new PropertyPageDTO(content, content.size(), hasNext, nextCursor);
+    }
+
+    // Walks the candidate ids after the cursor in id order. Rows are checked
+    // against the filters again: rent is only matched by band in the index,
+    // and a write may have landed after the bitmaps were read.
+    private List<Property> pageOf(RoaringBitmap candidates, PropertySearchDTO criteria,
+                                  String propertyType, int limit) {
+        PeekableIntIterator ids = candidates.getIntIterator();
+        if (criteria.getCursor() != null && criteria.getCursor() >= 0) {
+            ids.advanceIfNeeded((int) (criteria.getCursor() + 1));
+        }
+
+        List<Property> rows = new ArrayList<>(limit);
+        List<Long> batch = new ArrayList<>(limit);
+        while (rows.size() < limit && ids.hasNext()) {
+            batch.clear();
+            while (batch.size() < limit - rows.size() && ids.hasNext()) {
+                batch.add((long) ids.next());
+            }
+            propertyRepository.findByPropertyIdIn(batch).stream()
+                    .filter(p -> matches(p, criteria, propertyType))
+                    .sorted(Comparator.comparing(Property::getPropertyId))
+                    .forEach(rows::add);
+        }
+        return rows;
+    }
+
+    // Same semantics as the SQL filters: a null column never matches a filter on it
+    private static boolean matches(Property p, PropertySearchDTO criteria, String propertyType) {
+        Double rent = p.getRentAmount();
+        return (criteria.getMinRent() == null || rent != null && rent >= criteria.getMinRent())
+                && (criteria.getMaxRent() == null || rent != null && rent <= criteria.getMaxRent())
+                && (propertyType == null || p.getPropertyType() != null
+                        && propertyType.equalsIgnoreCase(p.getPropertyType().trim()))
+                && (criteria.getIsAvailable() == null || criteria.getIsAvailable().equals(p.getIsAvailable()));
+    }
+
+    // ================= BULK IMPORT =================
+    @Override
+    public int importProperties(List<PropertyRequestDTO> dtos) {
+
+        Map<Long, PropertyRequestDTO> rows = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            rows.put(i + 1L, dtos.get(i));
+        }
+
+        // All or nothing: any bad row rejects the whole import before anything is written
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        List<Property> properties = prepare(rows, errors);
+        if (!errors.isEmpty()) {
+            BulkImportErrorDTO first = errors.get(0);
+            throw new IllegalArgumentException("Row " + first.getRow() + ": " + first.getMessage()
+                    + (errors.size() > 1 ? " (and " + (errors.size() - 1) + " more rows)" : ""));
+        }
+
+        persistAll(properties);
+        return properties.size();
+    }
+
+    @Override
+    public List<BulkImportErrorDTO> importRows(Map<Long, PropertyRequestDTO> rows) {
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        persistAll(prepare(rows, errors));
+        return errors;
+    }
+
+    // Owners and agents are resolved with one query each for the whole batch, not per row
+    private List<Property> prepare(Map<Long, PropertyRequestDTO> rows, List<BulkImportErrorDTO> errors) {
+
+        Map<Long, Owner> owners = ownerRepository.findAllById(ids(rows.values(), PropertyRequestDTO::getOwnerId))
+                .stream().collect(Collectors.toMap(Owner::getUserId, Function.identity()));
+        Map<Long, Agent> agents = agentRepository.findAllById(ids(rows.values(), PropertyRequestDTO::getAgentId))
+                .stream().collect(Collectors.toMap(Agent::getUserId, Function.identity()));
+
+        List<Property> properties = new ArrayList<>(rows.size());
+        rows.forEach((row, dto) -> {
+            List<String> problems = checkRow(dto, owners, agents);
+            if (!problems.isEmpty()) {
+                errors.add(new BulkImportErrorDTO(row, String.join("; ", problems)));
+                return;
+            }
+            Property property = PropertyMapper.toEntity(dto);
+            property.setOwner(owners.get(dto.getOwnerId()));
+            property.setAgent(dto.getAgentId() == null ? null : agents.get(dto.getAgentId()));
+            properties.add(property);
+        });
+        return properties;
+    }
+
+    private void persistAll(List<Property> properties) {
+        List<Long> ids = new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            entityManager.persist(properties.get(i));
+            ids.add(properties.get(i).getPropertyId());
+
+            // Send the batch and drop it from the persistence context so memory stays flat
+            if ((i + 1) % IMPORT_CHUNK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        // One listings-changed signal for the whole import
+        if (!ids.isEmpty()) {
+            events.publishEvent(new PropertiesImportedEvent(ids));
+        }
+    }
+
+    // Same rules and messages as the constraints on Property. No bean-validation
+    // provider is on the classpath, so they are checked here rather than by a Validator.
+    private List<String> checkRow(PropertyRequestDTO dto, Map<Long, Owner> owners, Map<Long, Agent> agents) {
+        List<String> problems = new ArrayList<>();
+
+        checkText(problems, dto.getTitle(), 3, 100, "Title");
+        checkText(problems, dto.getDescription(), 10, 500, "Description");
+        checkText(problems, dto.getAddress(), 5, 255, "Address");
+        if (dto.getRentAmount() == null) {
+            problems.add("Rent amount is required");
+        } else if (dto.getRentAmount() < 1.0) {
+            problems.add("Rent amount must be greater than 0");
+        }
+        if (dto.getPropertyType() == null || dto.getPropertyType().isBlank()) {
+            problems.add("Property type is required");
+        }
+        if (dto.getIsAvailable() == null) {
+            problems.add("Availability status is required");
+        }
+        String location = locationProblem(dto);
+        if (location != null) {
+            problems.add(location);
+        }
+
+        Owner owner = owners.get(dto.getOwnerId());
+        if (dto.getOwnerId() == null) {
+            problems.add("Owner is mandatory");
+        } else if (owner == null) {
+            problems.add("Owner not found: " + dto.getOwnerId());
+        } else if (!isOwnerOrAdmin(owner)) {   // 🔐 SECURITY CHECK
+            problems.add("You can modify only your own properties!");
+        }
+        if (dto.getAgentId() != null && !agents.containsKey(dto.getAgentId())) {
+            problems.add("Agent not found: " + dto.getAgentId());
+        }
+        return problems;
+    }
+
+    private static void checkText(List<String> problems, String value, int min, int max, String field) {
+        if (value == null || value.isBlank()) {
+            problems.add(field + " cannot be blank");
+        } else if (value.length() < min || value.length() > max) {
+            problems.add(field + " must be between " + min + " and " + max + " characters");
+        }
+    }
+
+    private static void validateLocation(PropertyRequestDTO dto) {
+        String problem = locationProblem(dto);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+    }
+
+    private static String locationProblem(PropertyRequestDTO dto) {
+        Double lat = dto.getLatitude();
+        Double lng = dto.getLongitude();
+        if ((lat == null) != (lng == null)) {
+            return "Latitude and longitude must be given together";
+        }
+        if (lat != null && !(lat >= -90 && lat <= 90)) {
+            return "Latitude must be between -90 and 90";
+        }
+        if (lng != null && !(lng >= -180 && lng <= 180)) {
+            return "Longitude must be between -180 and 180";
+        }
+        return null;
+    }
+
+    private static Set<Long> ids(Collection<PropertyRequestDTO> dtos, Function<PropertyRequestDTO, Long> id) {
+        return dtos.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // Maps the saved row and tells the dashboard read model that listings changed
+    private PropertyResponseDTO saved(Property property, boolean titleChanged) {
+        events.publishEvent(new PropertyEvent(property.getPropertyId(), property.getTitle(), titleChanged));
+        return PropertyMapper.toResponse(property);
     }
 
     // ================= OWNER OR ADMIN SECURITY CHECK =================
     private void validateOwnerOrAdmin(Owner owner) {
+        if (!isOwnerOrAdmin(owner)) {
+            throw new RuntimeException("You can modify only your own properties!");
+        }
+    }
+
+    private boolean isOwnerOrAdmin(Owner owner) {
         String loggedInEmail = SecurityContextHolder.getContext()
                 .getAuthentication()
                 .getName();
@@ -170,26 +465,7 @@ public class PropertyServiceImpl implements PropertyService {
                 .stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
 
-        if (isAdmin) {
-            // Admin can proceed without restriction
-            return;
-        }
-
-        if (!owner.getEmail().equals(loggedInEmail)) {
-            throw new RuntimeException("You can modify only your own properties!");
-        }
-    }
-
-    // ================= DTO MAPPING =================
-    private PropertyResponseDTO mapToResponse(Property property) {
-        PropertyResponseDTO dto = modelMapper.map(property, PropertyResponseDTO.class);
-        dto.setOwnerId(property.getOwner().getUserId());
-        dto.setOwnerName(property.getOwner().getFirstName());
-
-        if (property.getAgent() != null) {
-            dto.setAgentId(property.getAgent().getUserId());
-            dto.setAgentName(property.getAgent().getFirstName());
-        }
-        return dto;
+        // Admin can proceed without restriction
+        return isAdmin || owner.getEmail().equals(loggedInEmail);
     }
 }
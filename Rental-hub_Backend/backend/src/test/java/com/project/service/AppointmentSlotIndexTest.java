@@ -0,0 +1,210 @@
+package com.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.exception.SlotConflictException;
+import com.project.repository.AppointmentRepository;
+import com.project.repository.AppointmentRepository.SlotColumns;
+
+/**
+ * Overlap checks and the in-flight bookkeeping of AppointmentSlotIndex.
+ * Transactions are simulated by driving the registered synchronizations.
+ */
+class AppointmentSlotIndexTest {
+
+	private static final Long HANDLER = 7L;
+
+	private AppointmentRepository repository;
+	private AppointmentSlotIndex index;
+	private LocalDateTime nine;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(AppointmentRepository.class);
+		index = new AppointmentSlotIndex(repository, "09:00", "18:00", "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY,SATURDAY,SUNDAY");
+		nine = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.DAYS).withHour(9);
+
+		// Appointment 1 already booked 10:00-10:30
+		when(repository.findSlotsEndingAfter(eq(HANDLER), any()))
+				.thenReturn(List.of(slot(1L, at(60), at(90))));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void overlappingSlotsClash() {
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(60), at(90)));   // same
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(75), at(105)));  // tail
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(45), at(65)));   // head
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(70), at(80)));   // inside
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(0), at(180)));   // around
+
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 2L, at(90), at(120)));    // touches the end
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 3L, at(30), at(60)));     // touches the start
+		assertDoesNotThrow(() -> index.reserve(8L, 4L, at(60), at(90)));          // other handler
+	}
+
+	@Test
+	void movingWithinOwnSlotIsNoClash() {
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 1L, at(70), at(100)));
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(95), at(110)));
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 2L, at(60), at(70)));
+	}
+
+	@Test
+	void rollbackGivesTheSlotBack() {
+		begin();
+		index.reserve(HANDLER, 2L, at(120), at(150));
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 3L, at(120), at(150)));
+	}
+
+	@Test
+	void commitKeepsTheSlot() {
+		begin();
+		index.reserve(HANDLER, 2L, at(120), at(150));
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 3L, at(130), at(140)));
+	}
+
+	@Test
+	void openMoveBlocksBothSlotsUntilItEnds() throws Exception {
+		begin();
+		index.reserve(HANDLER, 1L, at(180), at(210));
+
+		// The old slot may come back on rollback, so nobody else gets it yet
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(60), at(90)));
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(180), at(210)));
+
+		// Another request may not change the same appointment meanwhile
+		ExecutionException other = assertThrows(ExecutionException.class,
+				() -> CompletableFuture.runAsync(() -> index.reserve(HANDLER, 1L, at(300), at(330))).get());
+		assertInstanceOf(SlotConflictException.class, other.getCause());
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		// Back at 10:00; 12:00 is free again
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 2L, at(60), at(90)));
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 2L, at(180), at(210)));
+	}
+
+	@Test
+	void committedMoveFreesTheOldSlot() {
+		begin();
+		index.reserve(HANDLER, 1L, at(180), at(210));
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 2L, at(60), at(90)));
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 3L, at(180), at(210)));
+	}
+
+	@Test
+	void releaseTakesEffectOnCommitOnly() {
+		index.reserve(HANDLER, 2L, at(120), at(150));
+
+		begin();
+		index.releaseOnCommit(HANDLER, 1L);
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 3L, at(60), at(90)));
+
+		begin();
+		index.releaseOnCommit(HANDLER, 1L);
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 3L, at(60), at(90)));
+	}
+
+	@Test
+	void idleSchedulesAreEvictedAndReloaded() {
+		index.reserve(HANDLER, 2L, at(120), at(150));
+		verify(repository, times(1)).findSlotsEndingAfter(eq(HANDLER), any());
+
+		index.sweep(System.nanoTime() + 1, LocalDateTime.now());
+
+		// Reloaded from the table, which does not have appointment 2
+		assertDoesNotThrow(() -> index.reserve(HANDLER, 3L, at(120), at(150)));
+		verify(repository, times(2)).findSlotsEndingAfter(eq(HANDLER), any());
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 4L, at(60), at(90)));
+	}
+
+	@Test
+	void schedulesWithOpenBookingsAreNotEvicted() {
+		begin();
+		index.reserve(HANDLER, 2L, at(120), at(150));
+
+		index.sweep(System.nanoTime() + 1, LocalDateTime.now());
+		assertThrows(SlotConflictException.class, () -> index.reserve(HANDLER, 3L, at(120), at(150)));
+		verify(repository, times(1)).findSlotsEndingAfter(eq(HANDLER), any());
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+	}
+
+	@Test
+	void failedLoadIsRetried() {
+		when(repository.findSlotsEndingAfter(eq(8L), any()))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenReturn(List.of(slot(5L, at(0), at(30))));
+
+		assertThrows(IllegalStateException.class, () -> index.reserve(8L, 6L, at(0), at(30)));
+		assertThrows(SlotConflictException.class, () -> index.reserve(8L, 6L, at(0), at(30)));
+	}
+
+	private LocalDateTime at(int minutesAfterNine) {
+		return nine.plusMinutes(minutesAfterNine);
+	}
+
+	private static void begin() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(s -> s.afterCompletion(status));
+	}
+
+	private static SlotColumns slot(Long id, LocalDateTime start, LocalDateTime end) {
+		return new SlotColumns() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public LocalDateTime getStartTime() {
+				return start;
+			}
+
+			@Override
+			public LocalDateTime getEndTime() {
+				return end;
+			}
+		};
+	}
+}
@@ -0,0 +1,240 @@
+package com.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.entities.Agent;
+import com.project.entities.Appointment;
+import com.project.entities.Customer;
+import com.project.entities.Property;
+import com.project.entities.Role;
+import com.project.event.AgentEvent;
+import com.project.event.OwnerEvent;
+import com.project.event.PropertyEvent;
+import com.project.mapper.AppointmentMapper;
+import com.project.repository.AppointmentRepository;
+import com.project.repository.CustomerRepository;
+import com.project.repository.LeaseAgreementRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * A rebuild must never expose an entry whose sections are still being
+ * streamed in, and must leave every rebuilt entry with a new ETag. Renames
+ * of what appointments show reload just the entries showing it.
+ */
+class DashboardReadModelTest {
+
+	private CustomerRepository customerRepository;
+	private AppointmentRepository appointmentRepository;
+	private LeaseAgreementRepository leaseRepository;
+	private AppointmentService appointmentService;
+	private LeaseAgreementService leaseService;
+	private DashboardReadModel model;
+
+	private Customer customer;
+	private Appointment appointment;
+
+	@BeforeEach
+	void setUp() {
+		customerRepository = mock(CustomerRepository.class);
+		appointmentRepository = mock(AppointmentRepository.class);
+		leaseRepository = mock(LeaseAgreementRepository.class);
+		appointmentService = mock(AppointmentService.class);
+		leaseService = mock(LeaseAgreementService.class);
+		model = new DashboardReadModel(customerRepository, appointmentRepository, leaseRepository,
+				appointmentService, leaseService, mock(PropertyService.class), mock(EntityManager.class),
+				Runnable::run, 100);
+
+		customer = new Customer();
+		customer.setUserId(1L);
+		customer.setFirstName("Asha");
+		customer.setRole(Role.CUSTOMER);
+
+		Property property = new Property();
+		property.setPropertyId(10L);
+		property.setTitle("Flat");
+		Agent agent = new Agent();
+		agent.setUserId(20L);
+
+		appointment = new Appointment();
+		appointment.setAppointmentId(100L);
+		appointment.setCustomer(customer);
+		appointment.setProperty(property);
+		appointment.setAgent(agent);
+
+		// Miss path
+		when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+		when(appointmentService.getAppointmentsByCustomer(1L))
+				.thenReturn(List.of(AppointmentMapper.toResponse(appointment)));
+		when(leaseService.getLeasesByCustomerId(1L)).thenReturn(List.of());
+		when(leaseRepository.streamAll()).thenReturn(Stream.empty());
+	}
+
+	@Test
+	void readDuringRebuildSeesCompleteEntry() throws Exception {
+		DashboardReadModel.Entry before = model.get(1L).join();
+		String tagBefore = model.eTag(1L, before, false);
+
+		// The appointment pass stalls until the reader has looked
+		CountDownLatch inAppointmentPass = new CountDownLatch(1);
+		CountDownLatch readDone = new CountDownLatch(1);
+		when(customerRepository.streamAll()).thenReturn(Stream.of(customer));
+		when(appointmentRepository.streamAll()).thenReturn(Stream.of(appointment).peek(a -> {
+			inAppointmentPass.countDown();
+			await(readDone);
+		}));
+
+		CompletableFuture<Long> rebuild = CompletableFuture.supplyAsync(model::rebuild);
+		await(inAppointmentPass);
+		DashboardReadModel.Entry during = model.get(1L).join();
+		String tagDuring = model.eTag(1L, during, false);
+		int appointmentsDuring = during.getAppointments().size();
+		readDone.countDown();
+		assertEquals(1L, rebuild.get(10, TimeUnit.SECONDS));
+
+		assertEquals(1, appointmentsDuring);
+		assertEquals(tagBefore, tagDuring);
+
+		DashboardReadModel.Entry after = model.get(1L).join();
+		assertEquals(1, after.getAppointments().size());
+		assertNotEquals(tagBefore, model.eTag(1L, after, false));
+	}
+
+	@Test
+	void readOfUncachedCustomerDuringRebuildLoadsItself() throws Exception {
+		CountDownLatch inAppointmentPass = new CountDownLatch(1);
+		CountDownLatch readDone = new CountDownLatch(1);
+		when(customerRepository.streamAll()).thenReturn(Stream.of(customer));
+		when(appointmentRepository.streamAll()).thenReturn(Stream.of(appointment).peek(a -> {
+			inAppointmentPass.countDown();
+			await(readDone);
+		}));
+
+		CompletableFuture<Long> rebuild = CompletableFuture.supplyAsync(model::rebuild);
+		await(inAppointmentPass);
+		int appointmentsDuring = model.get(1L).join().getAppointments().size();
+		readDone.countDown();
+		rebuild.get(10, TimeUnit.SECONDS);
+
+		assertEquals(1, appointmentsDuring);
+		assertTrue(model.get(1L).join().getAppointments().stream()
+				.allMatch(a -> a.getAppointmentId().equals(100L)));
+	}
+
+	@Test
+	void propertyRenameReloadsOnlyEntriesShowingIt() {
+		Customer other = new Customer();
+		other.setUserId(2L);
+		other.setRole(Role.CUSTOMER);
+		when(customerRepository.findById(2L)).thenReturn(Optional.of(other));
+		when(appointmentService.getAppointmentsByCustomer(2L)).thenReturn(List.of());
+		when(leaseService.getLeasesByCustomerId(2L)).thenReturn(List.of());
+
+		String tagBefore = model.eTag(1L, model.get(1L).join(), false);
+		model.get(2L).join();
+
+		model.onProperty(new PropertyEvent(11L, "Elsewhere", true));   // shown by nobody
+		model.onProperty(new PropertyEvent(10L, "Flat", false));       // title unchanged
+		model.get(1L).join();
+		verify(customerRepository, times(1)).findById(1L);
+
+		model.onProperty(new PropertyEvent(10L, "Loft", true));
+		String tagAfter = model.eTag(1L, model.get(1L).join(), false);
+		model.get(2L).join();
+
+		verify(customerRepository, times(2)).findById(1L);
+		verify(customerRepository, times(1)).findById(2L);
+		assertNotEquals(tagBefore, tagAfter);
+	}
+
+	@Test
+	void handlerRenameChangesTheETag() {
+		String tagBefore = model.eTag(1L, model.get(1L).join(), true);
+
+		model.onAgent(new AgentEvent(20L));
+
+		assertNotEquals(tagBefore, model.eTag(1L, model.get(1L).join(), true));
+		verify(customerRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void listingsPartOfTheETagFollowsOwnerAndAgentChanges() {
+		Customer other = new Customer();
+		other.setUserId(2L);
+		other.setRole(Role.CUSTOMER);
+		when(customerRepository.findById(2L)).thenReturn(Optional.of(other));
+		when(appointmentService.getAppointmentsByCustomer(2L)).thenReturn(List.of());
+		when(leaseService.getLeasesByCustomerId(2L)).thenReturn(List.of());
+
+		// Customer 2 shows no agent itself, but the listings might
+		DashboardReadModel.Entry entry = model.get(2L).join();
+		String withListings = model.eTag(2L, entry, true);
+		String withoutListings = model.eTag(2L, entry, false);
+
+		model.onAgent(new AgentEvent(30L));
+		entry = model.get(2L).join();
+		assertNotEquals(withListings, model.eTag(2L, entry, true));
+		assertEquals(withoutListings, model.eTag(2L, entry, false));
+
+		withListings = model.eTag(2L, entry, true);
+		model.onOwner(new OwnerEvent(31L));
+		assertNotEquals(withListings, model.eTag(2L, model.get(2L).join(), true));
+	}
+
+	@Test
+	void renameDuringLoadDropsTheLoad() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			model = new DashboardReadModel(customerRepository, appointmentRepository, leaseRepository,
+					appointmentService, leaseService, mock(PropertyService.class), mock(EntityManager.class),
+					executor, 100);
+
+			// The first load read the appointments before the rename committed
+			CountDownLatch inLoad = new CountDownLatch(1);
+			CountDownLatch renamed = new CountDownLatch(1);
+			when(appointmentService.getAppointmentsByCustomer(1L)).then(invocation -> {
+				inLoad.countDown();
+				await(renamed);
+				return List.of(AppointmentMapper.toResponse(appointment));
+			}).thenReturn(List.of(AppointmentMapper.toResponse(appointment)));
+
+			CompletableFuture<DashboardReadModel.Entry> first = model.get(1L);
+			await(inLoad);
+			model.onAgent(new AgentEvent(20L));
+			renamed.countDown();
+			first.get(10, TimeUnit.SECONDS);
+
+			model.get(1L).get(10, TimeUnit.SECONDS);
+			verify(appointmentService, times(2)).getAppointmentsByCustomer(1L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.project.entities.Agent;
+import com.project.entities.Appointment;
+import com.project.entities.Customer;
+import com.project.entities.LeaseAgreement;
+import com.project.entities.Owner;
+import com.project.entities.Property;
+import com.project.entities.Role;
+
+/**
+ * Guards the list read paths against N+1 regressions: each endpoint must
+ * run a fixed number of SQL statements no matter how many rows it returns.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import({ PropertyServiceImpl.class, PropertyBitmapIndex.class, AppointmentServiceImpl.class, AppointmentSlotIndex.class,
+		LeaseAgreementServiceImpl.class })
+class ReadPathQueryCountTest {
+
+	private static final int ROWS = 6;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private LeaseAgreementService leaseService;
+
+	private Statistics statistics;
+	private Owner owner;
+	private Agent agent;
+	private Customer customer;
+
+	@BeforeEach
+	void setUp() {
+		statistics = em.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+
+		for (int i = 0; i < ROWS; i++) {
+			Owner o = em.persist(user(new Owner(), "owner" + i, Role.OWNER));
+			Agent a = em.persist(user(new Agent(), "agent" + i, Role.AGENT));
+			Customer c = em.persist(user(new Customer(), "customer" + i, Role.CUSTOMER));
+
+			Property p = new Property();
+			p.setTitle("Flat " + i);
+			p.setDescription("Two bedroom flat " + i);
+			p.setAddress("Street " + i);
+			p.setRentAmount(1000.0 + i);
+			p.setPropertyType("FLAT");
+			p.setIsAvailable(true);
+			p.setOwner(o);
+			p.setAgent(a);
+			em.persist(p);
+
+			Appointment ap = new Appointment();
+			ap.setCustomer(c);
+			ap.setProperty(p);
+			if (i % 2 == 0) {
+				ap.setOwner(o);
+			} else {
+				ap.setAgent(a);
+			}
+			em.persist(ap);
+
+			LeaseAgreement lease = new LeaseAgreement();
+			lease.setProperty(p);
+			lease.setCustomer(c);
+			lease.setOwner(o);
+			lease.setStartDate(LocalDate.now());
+			lease.setMonthlyRent(1000.0 + i);
+			em.persist(lease);
+
+			owner = o;
+			agent = a;
+			customer = c;
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void propertyListsRunOneStatement() {
+		assertStatements(1, propertyService::getAllProperties);
+		assertStatements(1, propertyService::getAvailableProperties);
+		assertStatements(1, () -> propertyService.getPropertiesByOwner(owner.getUserId()));
+		assertStatements(1, () -> propertyService.getPropertiesByAgent(agent.getUserId()));
+	}
+
+	@Test
+	void appointmentListsRunOneStatement() {
+		assertStatements(1, appointmentService::getAllAppointments);
+		assertStatements(1, () -> appointmentService.getAppointmentsByCustomer(customer.getUserId()));
+		assertStatements(1, () -> appointmentService.getAppointmentsForLoggedInAgent(agent.getUserId()));
+		assertStatements(1, () -> appointmentService.getAppointmentsByOwner(owner.getUserId()));
+	}
+
+	@Test
+	void leaseListsRunOneStatement() {
+		assertStatements(1, leaseService::getAllLeases);
+		assertStatements(1, () -> leaseService.getLeasesByCustomerId(customer.getUserId()));
+	}
+
+	private void assertStatements(long expected, Supplier<? extends List<?>> read) {
+		em.clear();
+		statistics.clear();
+		read.get();
+		assertEquals(expected, statistics.getPrepareStatementCount());
+	}
+
+	private static <T extends com.project.entities.User> T user(T user, String name, Role role) {
+		user.setFirstName(name);
+		user.setEmail(name + "@mail.com");
+		user.setRole(role);
+		return user;
+	}
+}
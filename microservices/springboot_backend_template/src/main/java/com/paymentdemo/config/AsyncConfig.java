@@ -0,0 +1,18 @@
+package com.paymentdemo.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AsyncConfig {
+
+    // One virtual thread per remote call: calls spend their time blocked on
+    // I/O, so there is no pool to size or exhaust
+    @Bean(name = "remoteCallExecutor", destroyMethod = "close")
+    public ExecutorService remoteCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,71 @@
+package com.paymentdemo.config;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * The caller's Authorization header, forwarded on Feign calls.
+ *
+ * On the request thread it is read from the servlet request. Work handed to
+ * other threads (virtual-thread fan-out, streamed response bodies) has no
+ * request bound, so the value is captured up front and installed there with
+ * {@link #callWith} / {@link #runWith}.
+ */
+public final class AuthorizationContext {
+
+    private static final ThreadLocal<String> AUTHORIZATION = new ThreadLocal<>();
+
+    private AuthorizationContext() {
+    }
+
+    // Bearer header for the current thread, or null if there is none
+    public static String current() {
+        String explicit = AUTHORIZATION.get();
+        if (explicit != null) {
+            return explicit;
+        }
+
+        ServletRequestAttributes attrs =
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            return null;
+        }
+
+        String header = attrs.getRequest().getHeader("Authorization");
+        return header != null && header.startsWith("Bearer ") ? header : null;
+    }
+
+    public static <T> T callWith(String authorization, Supplier<T> call) {
+        if (authorization == null) {
+            return call.get();
+        }
+        AUTHORIZATION.set(authorization);
+        try {
+            return call.get();
+        } finally {
+            AUTHORIZATION.remove();
+        }
+    }
+
+    // Same for work that writes to a stream, e.g. a StreamingResponseBody
+    public static void runWith(String authorization, StreamWork work) throws IOException {
+        if (authorization == null) {
+            work.run();
+            return;
+        }
+        AUTHORIZATION.set(authorization);
+        try {
+            work.run();
+        } finally {
+            AUTHORIZATION.remove();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StreamWork {
+        void run() throws IOException;
+    }
+}
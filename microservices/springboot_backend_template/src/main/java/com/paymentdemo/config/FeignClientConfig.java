@@ -2,11 +2,8 @@ package com.paymentdemo.config;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Configuration
 public class FeignClientConfig {
@@ -17,15 +14,10 @@ public class FeignClientConfig {
             @Override
             public void apply(RequestTemplate template) {
 
-                ServletRequestAttributes attrs =
-                        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+                // Works on the request thread and on fan-out threads alike
+                String token = AuthorizationContext.current();
 
-                if (attrs == null) return;
-
-                HttpServletRequest request = attrs.getRequest();
-                String token = request.getHeader("Authorization");
-
-                if (token != null && token.startsWith("Bearer ")) {
+                if (token != null) {
                     template.header("Authorization", token);
                 }
             }
@@ -30,7 +30,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         // 🔍 CHECK HEADER HERE
         String authHeader = request.getHeader("Authorization");
-        System.out.println("Authorization Header: " + authHeader);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -44,11 +43,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             if (jwtUtil.validateToken(token)) {
 
+                // The role claim drives the role-restricted endpoints in SecurityConfig
+                String role = jwtUtil.extractRole(token);
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 username,
                                 null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                                role == null
+                                        ? Collections.emptyList()
+                                        : Collections.singletonList(new SimpleGrantedAuthority(role))
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
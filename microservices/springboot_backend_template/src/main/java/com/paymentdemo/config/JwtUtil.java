@@ -27,6 +27,11 @@ public class JwtUtil {
         return extractAllClaims(token).getSubject();
     }
 
+    // "ROLE_ADMIN", "ROLE_SERVICE", ... as the main backend signs it; null if absent
+    public String extractRole(String token) {
+        return extractAllClaims(token).get("role", String.class);
+    }
+
     public boolean validateToken(String token) {
         try {
             extractAllClaims(token);
@@ -3,6 +3,7 @@ package com.paymentdemo.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -28,6 +29,11 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())                   // Disable CSRF
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                // Eviction calls come only from the main backend's service token
+                .requestMatchers(HttpMethod.DELETE, "/api/cache/**").hasRole("SERVICE")
+                // Bulk import and full exports are for admins only
+                .requestMatchers(HttpMethod.POST, "/api/payments/import").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/payments/export").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(sess -> sess
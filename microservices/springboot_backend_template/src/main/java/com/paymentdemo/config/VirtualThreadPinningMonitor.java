@@ -0,0 +1,83 @@
+package com.paymentdemo.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically
+ * blocking I/O inside a synchronized block (JDBC driver, Hibernate, legacy
+ * libraries). Listens to the JDK's own jdk.VirtualThreadPinned JFR event,
+ * so no JVM flags are needed. Each distinct site is logged once with its
+ * stack; every occurrence counts towards the jvm.threads.virtual.pinned metric.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "diagnostics.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 12;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${diagnostics.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+        sites.forEach((site, count) -> log.info("Pinned {}x at {}", count.sum(), site));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = event.getStackTrace() == null ? "<no stack>"
+                : event.getStackTrace().getFrames().stream()
+                        .limit(STACK_DEPTH)
+                        .map(VirtualThreadPinningMonitor::frame)
+                        .collect(Collectors.joining("\n\tat "));
+
+        pinned.increment();
+        LongAdder count = sites.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("Virtual thread pinned for {} ms at\n\tat {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,41 @@
+package com.paymentdemo.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.paymentdemo.external.RemoteLookupCache;
+
+import lombok.RequiredArgsConstructor;
+
+// Change notifications from the main backend: drop near-cache entries early
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final RemoteLookupCache lookupCache;
+
+    // ✅ CUSTOMER / OWNER CHANGED
+    @DeleteMapping("/users/{id}")
+    public ResponseEntity<Void> invalidateUser(@PathVariable Long id) {
+        lookupCache.invalidateUser(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ✅ LEASE CHANGED
+    @DeleteMapping("/leases/{id}")
+    public ResponseEntity<Void> invalidateLease(@PathVariable Long id) {
+        lookupCache.invalidateLease(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ✅ DROP EVERYTHING
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        lookupCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,6 +4,7 @@ package com.paymentdemo.controller;
 import java.util.List;
 
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +16,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.paymentdemo.config.AuthorizationContext;
 import com.paymentdemo.dto.PaymentRequestDTO;
 import com.paymentdemo.dto.PaymentResponseDTO;
+import com.paymentdemo.service.ExportWriter;
 import com.paymentdemo.service.PaymentService;
 
 import jakarta.validation.Valid;
@@ -37,6 +41,28 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.createPayment(dto));
     }
 
+    // ✅ BULK IMPORT (JSON array)
+    @PostMapping("/import")
+    public ResponseEntity<String> importPayments(@RequestBody List<PaymentRequestDTO> dtos) {
+        return ResponseEntity.ok(paymentService.importPayments(dtos) + " payments imported");
+    }
+
+    // ✅ STREAMED EXPORT: /api/payments/export?format=ndjson|csv
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.of(format);
+
+        // The body is written on an async thread with no request bound, so the
+        // caller's token is captured here for the name lookups made there
+        String authorization = AuthorizationContext.current();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=payments." + exportFormat.extension())
+                .body(out -> AuthorizationContext.runWith(authorization,
+                        () -> paymentService.exportPayments(out, exportFormat)));
+    }
+
     // ✅ GET PAYMENT BY ID
     @GetMapping("/{id}")
     public ResponseEntity<PaymentResponseDTO> getPayment(@PathVariable Long id) {
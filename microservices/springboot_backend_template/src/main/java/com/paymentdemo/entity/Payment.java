@@ -13,8 +13,10 @@ import lombok.*;
 @NoArgsConstructor
 public class Payment {
 
+    // Pooled ids keep inserts batchable; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long paymentId;
 
     private Long leaseId;
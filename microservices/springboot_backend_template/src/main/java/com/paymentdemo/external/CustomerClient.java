@@ -1,8 +1,12 @@
 package com.paymentdemo.external;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.paymentdemo.config.FeignClientConfig;
 import com.paymentdemo.external.dto.CustomerDTO;
@@ -12,5 +16,9 @@ public interface CustomerClient {
 
     @GetMapping("/api/customers/{id}")
     CustomerDTO getCustomerByUserId(@PathVariable Long id);
+
+    // Unknown ids are simply missing from the result
+    @GetMapping("/api/customers/batch")
+    List<CustomerDTO> getCustomersByUserIds(@RequestParam("ids") Collection<Long> ids);
 }
 
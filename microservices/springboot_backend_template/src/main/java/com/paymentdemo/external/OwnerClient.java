@@ -1,8 +1,12 @@
 package com.paymentdemo.external;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.paymentdemo.config.FeignClientConfig;
 import com.paymentdemo.external.dto.OwnerDTO;
@@ -12,4 +16,8 @@ public interface OwnerClient {
 
     @GetMapping("/api/owners/{id}")
     OwnerDTO getOwnerByUserId(@PathVariable Long id);
+
+    // Unknown ids are simply missing from the result
+    @GetMapping("/api/owners/batch")
+    List<OwnerDTO> getOwnersByUserIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -0,0 +1,66 @@
+package com.paymentdemo.external;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.paymentdemo.config.AuthorizationContext;
+
+/**
+ * Runs Feign calls to the main backend concurrently, each on its own
+ * virtual thread, carrying the caller's Authorization header along.
+ */
+@Component
+public class RemoteCalls {
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public RemoteCalls(@Qualifier("remoteCallExecutor") ExecutorService executor,
+                       @Value("${remote-call.timeout-ms:3000}") long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Must be called on the request thread so the header can be captured
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        String authorization = AuthorizationContext.current();
+        return CompletableFuture
+                .supplyAsync(() -> AuthorizationContext.callWith(authorization, call), executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // For lookups that may degrade: any failure or timeout yields the fallback
+    public static <T> T awaitOr(CompletableFuture<T> future, T fallback) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return fallback;
+        }
+    }
+
+    // Rethrows the call's own exception; a timeout becomes 504
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "Main backend did not respond in time");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
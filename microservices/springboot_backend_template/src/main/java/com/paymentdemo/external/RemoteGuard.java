@@ -0,0 +1,45 @@
+package com.paymentdemo.external;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Circuit breaker + bulkhead around calls to the main backend, one instance
+ * of each per client (customer / owner / lease). Limits and thresholds come
+ * from resilience4j.* properties; state and counters are exported as
+ * resilience4j.* metrics through the actuator.
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteGuard {
+
+    public static final String CUSTOMER = "customer";
+    public static final String OWNER = "owner";
+    public static final String LEASE = "lease";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    // Fails fast with 503 when the breaker is open or the bulkhead is full
+    public <T> T call(String client, Supplier<T> call) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkheads.bulkhead(client), call);
+        guarded = CircuitBreaker.decorateSupplier(circuitBreakers.circuitBreaker(client), guarded);
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Main backend unavailable (" + client + ")", e);
+        }
+    }
+}
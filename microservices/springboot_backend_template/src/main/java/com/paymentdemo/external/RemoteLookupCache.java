@@ -0,0 +1,178 @@
+package com.paymentdemo.external;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paymentdemo.external.dto.CustomerDTO;
+import com.paymentdemo.external.dto.LeaseAgreementDTO;
+import com.paymentdemo.external.dto.OwnerDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near-cache in front of the main backend's customer, owner and lease
+ * lookups. Entries expire after a TTL and the main backend may evict them
+ * earlier through the cache invalidation endpoint. Hit/miss counters are
+ * published as cache.* metrics (cache=remote.customers, ...).
+ *
+ * Lookups never fail: if the main backend errors, times out or its circuit
+ * is open, the entry is simply missing (null / absent from the map) and
+ * callers degrade, e.g. payments are returned without names.
+ */
+@Slf4j
+@Component
+public class RemoteLookupCache {
+
+    // Must not exceed the main backend's per-request batch limit
+    private static final int MAX_BATCH_IDS = 1000;
+
+    private final CustomerClient customerClient;
+    private final OwnerClient ownerClient;
+    private final LeaseClient leaseClient;
+    private final RemoteGuard guard;
+
+    private final Cache<Long, CustomerDTO> customers;
+    private final Cache<Long, OwnerDTO> owners;
+    private final Cache<Long, LeaseAgreementDTO> leases;
+
+    public RemoteLookupCache(CustomerClient customerClient,
+                             OwnerClient ownerClient,
+                             LeaseClient leaseClient,
+                             RemoteGuard guard,
+                             MeterRegistry meterRegistry,
+                             @Value("${remote-cache.max-size:10000}") long maxSize,
+                             @Value("${remote-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.customerClient = customerClient;
+        this.ownerClient = ownerClient;
+        this.leaseClient = leaseClient;
+        this.guard = guard;
+
+        this.customers = build(maxSize, ttlSeconds);
+        this.owners = build(maxSize, ttlSeconds);
+        this.leases = build(maxSize, ttlSeconds);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, customers, "remote.customers");
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "remote.owners");
+        CaffeineCacheMetrics.monitor(meterRegistry, leases, "remote.leases");
+    }
+
+    private static <V> Cache<Long, V> build(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // ================= SINGLE LOOKUPS =================
+
+    public CustomerDTO getCustomer(Long id) {
+        return getOrLoad(customers, id, RemoteGuard.CUSTOMER, customerClient::getCustomerByUserId);
+    }
+
+    public OwnerDTO getOwner(Long id) {
+        return getOrLoad(owners, id, RemoteGuard.OWNER, ownerClient::getOwnerByUserId);
+    }
+
+    public LeaseAgreementDTO getLease(Long id) {
+        return getOrLoad(leases, id, RemoteGuard.LEASE, leaseClient::getLease);
+    }
+
+    // Loads outside the cache's compute lock: a slow remote call must not
+    // block lookups of unrelated keys that hash to the same bin
+    private <V> V getOrLoad(Cache<Long, V> cache, Long id, String client, Function<Long, V> remote) {
+        V cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = orNull(client, () -> remote.apply(id));
+        if (loaded != null) {
+            cache.put(id, loaded);
+        }
+        return loaded;
+    }
+
+    // ================= BATCH LOOKUPS =================
+
+    // Only ids not already cached go to the main backend; unknown ids are absent
+    public Map<Long, CustomerDTO> getCustomers(Collection<Long> ids) {
+        return customers.getAll(ids, missing -> fetch(RemoteGuard.CUSTOMER, missing,
+                customerClient::getCustomersByUserIds, CustomerDTO::getUserId));
+    }
+
+    public Map<Long, OwnerDTO> getOwners(Collection<Long> ids) {
+        return owners.getAll(ids, missing -> fetch(RemoteGuard.OWNER, missing,
+                ownerClient::getOwnersByUserIds, OwnerDTO::getUserId));
+    }
+
+    // A failed chunk is skipped; whatever was resolved is still returned and cached
+    private <T> Map<Long, T> fetch(String client,
+                                   Set<? extends Long> ids,
+                                   Function<List<Long>, List<T>> batchCall,
+                                   Function<T, Long> idOf) {
+        List<Long> pending = List.copyOf(ids);
+
+        Map<Long, T> byId = new HashMap<>();
+        for (int from = 0; from < pending.size(); from += MAX_BATCH_IDS) {
+            List<Long> chunk = pending.subList(from, Math.min(from + MAX_BATCH_IDS, pending.size()));
+            List<T> items = orNull(client, () -> batchCall.apply(chunk));
+            if (items != null) {
+                items.forEach(item -> byId.put(idOf.apply(item), item));
+            }
+        }
+        return byId;
+    }
+
+    // Degraded path: log and return null instead of failing the caller
+    private <T> T orNull(String client, Supplier<T> call) {
+        try {
+            return guard.call(client, call);
+        } catch (RuntimeException e) {
+            log.warn("{} lookup failed, continuing without it: {}", client, e.getMessage());
+            return null;
+        }
+    }
+
+    // ================= WRITE-THROUGH / INVALIDATION =================
+
+    public void putCustomer(CustomerDTO customer) {
+        customers.put(customer.getUserId(), customer);
+    }
+
+    public void putOwner(OwnerDTO owner) {
+        owners.put(owner.getUserId(), owner);
+    }
+
+    public void putLease(LeaseAgreementDTO lease) {
+        leases.put(lease.getLeaseId(), lease);
+    }
+
+    // User ids are unique across customers and owners in the main backend
+    public void invalidateUser(Long userId) {
+        customers.invalidate(userId);
+        owners.invalidate(userId);
+    }
+
+    public void invalidateLease(Long leaseId) {
+        leases.invalidate(leaseId);
+    }
+
+    public void invalidateAll() {
+        customers.invalidateAll();
+        owners.invalidateAll();
+        leases.invalidateAll();
+    }
+}
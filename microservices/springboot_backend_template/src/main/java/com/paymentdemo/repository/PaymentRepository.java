@@ -1,11 +1,24 @@
 package com.paymentdemo.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import com.paymentdemo.entity.Payment;
 
+import jakarta.persistence.QueryHint;
+
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     List<Payment> findByCustomerUserId(Long customerUserId);
     List<Payment> findByOwnerUserId(Long ownerUserId);
+
+    // Streaming read for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentId")
+    Stream<Payment> streamAll();
 }
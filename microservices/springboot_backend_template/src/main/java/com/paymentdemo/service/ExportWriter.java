@@ -0,0 +1,114 @@
+package com.paymentdemo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Writes export rows straight to the response as they are read: NDJSON (one
+ * JSON object per line) or CSV (header from the DTO's JSON property names).
+ * Nothing is buffered beyond the writer itself, so memory doesn't grow with
+ * the row count.
+ */
+public final class ExportWriter<T> implements AutoCloseable {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("format must be ndjson or csv");
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final SequenceWriter json;
+    private final Writer csv;
+    private final List<String> columns;
+
+    public ExportWriter(OutputStream out, Format format, ObjectMapper objectMapper, Class<T> type) throws IOException {
+        this.objectMapper = objectMapper;
+        if (format == Format.NDJSON) {
+            this.json = objectMapper.writerFor(type).withRootValueSeparator("\n").writeValues(out);
+            this.csv = null;
+            this.columns = null;
+        } else {
+            this.json = null;
+            this.csv = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.columns = objectMapper.getSerializationConfig()
+                    .introspect(objectMapper.constructType(type))
+                    .findProperties().stream()
+                    .map(BeanPropertyDefinition::getName)
+                    .toList();
+            csv.write(String.join(",", columns));
+            csv.write("\r\n");
+        }
+    }
+
+    public void write(T row) throws IOException {
+        if (json != null) {
+            json.write(row);
+            return;
+        }
+
+        JsonNode node = objectMapper.valueToTree(row);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            JsonNode value = node.get(columns.get(i));
+            if (value != null && !value.isNull()) {
+                csv.write(escape(value.asText()));
+            }
+        }
+        csv.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        } else {
+            csv.close();
+        }
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,5 +1,7 @@
 package com.paymentdemo.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import com.paymentdemo.dto.PaymentRequestDTO;
@@ -27,4 +29,10 @@ public interface PaymentService {
 
     // Delete payment
     void deletePayment(Long paymentId);
+
+    // Bulk import: inserted in JDBC batches, all or nothing; returns the number imported
+    int importPayments(List<PaymentRequestDTO> dtos);
+
+    // Streamed export of all payments, written to out as rows are read
+    void exportPayments(OutputStream out, ExportWriter.Format format) throws IOException;
 }
@@ -1,21 +1,43 @@
 package com.paymentdemo.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.paymentdemo.dto.PaymentRequestDTO;
 import com.paymentdemo.dto.PaymentResponseDTO;
 import com.paymentdemo.entity.Payment;
 import com.paymentdemo.external.CustomerClient;
 import com.paymentdemo.external.OwnerClient;
 import com.paymentdemo.external.LeaseClient;
+import com.paymentdemo.external.RemoteCalls;
+import com.paymentdemo.external.RemoteGuard;
+import com.paymentdemo.external.RemoteLookupCache;
 import com.paymentdemo.external.dto.CustomerDTO;
 import com.paymentdemo.external.dto.OwnerDTO;
 import com.paymentdemo.external.dto.LeaseAgreementDTO;
 import com.paymentdemo.repository.PaymentRepository;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -23,19 +45,47 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    // Matches hibernate.jdbc.batch_size: one flush per batch, then the session is cleared
+    private static final int IMPORT_CHUNK_SIZE = 50;
+    // Export rows per name-lookup round (one batch call per client), same as the fetch size
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // Same cap as the main backend's batch endpoints
+    private static final int MAX_LOOKUP_IDS = 1000;
+
     private final PaymentRepository paymentRepo;
     private final CustomerClient customerClient;
     private final OwnerClient ownerClient;
     private final LeaseClient leaseClient;
+    private final RemoteLookupCache lookupCache;
+    private final RemoteCalls remoteCalls;
+    private final RemoteGuard guard;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     // ✅ CREATE PAYMENT
+    // No transaction while the remote calls run; save() opens a short one for the insert
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDTO createPayment(PaymentRequestDTO dto) {
 
-        // 🔹 Call MAIN SERVICE to validate data
-        CustomerDTO customer = customerClient.getCustomerByUserId(dto.getCustomerUserId());
-        OwnerDTO owner = ownerClient.getOwnerByUserId(dto.getOwnerUserId());
-        LeaseAgreementDTO lease = leaseClient.getLease(dto.getLeaseId());
+        // 🔹 Call MAIN SERVICE to validate data, all three at once
+        // No degraded mode here: a payment is only written against confirmed data
+        var customerCall = remoteCalls.submit(() -> guard.call(RemoteGuard.CUSTOMER,
+                () -> customerClient.getCustomerByUserId(dto.getCustomerUserId())));
+        var ownerCall = remoteCalls.submit(() -> guard.call(RemoteGuard.OWNER,
+                () -> ownerClient.getOwnerByUserId(dto.getOwnerUserId())));
+        var leaseCall = remoteCalls.submit(() -> guard.call(RemoteGuard.LEASE,
+                () -> leaseClient.getLease(dto.getLeaseId())));
+
+        CustomerDTO customer = RemoteCalls.await(customerCall);
+        OwnerDTO owner = RemoteCalls.await(ownerCall);
+        LeaseAgreementDTO lease = RemoteCalls.await(leaseCall);
+
+        // Validation always goes to the main backend; the fresh copies prime the cache
+        lookupCache.putCustomer(customer);
+        lookupCache.putOwner(owner);
+        lookupCache.putLease(lease);
 
         Payment payment = new Payment();
         payment.setCustomerUserId(customer.getUserId());
@@ -51,58 +101,41 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     // ✅ GET PAYMENT BY ID
+    // Reads run without a transaction so no DB connection is held during name lookups
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDTO getPaymentById(Long id) {
         Payment payment = paymentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
 
-        CustomerDTO customer = customerClient.getCustomerByUserId(payment.getCustomerUserId());
-        OwnerDTO owner = ownerClient.getOwnerByUserId(payment.getOwnerUserId());
-
-        return mapToDTO(payment, customer, owner);
+        return withNames(payment);
     }
 
     // ✅ GET ALL
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<PaymentResponseDTO> getAllPayments() {
-        return paymentRepo.findAll()
-                .stream()
-                .map(p -> mapToDTO(
-                        p,
-                        customerClient.getCustomerByUserId(p.getCustomerUserId()),
-                        ownerClient.getOwnerByUserId(p.getOwnerUserId())
-                ))
-                .toList();
+        return mapAll(paymentRepo.findAll());
     }
 
     // ✅ CUSTOMER PAYMENTS
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<PaymentResponseDTO> getPaymentsByCustomer(Long customerUserId) {
-        return paymentRepo.findByCustomerUserId(customerUserId)
-                .stream()
-                .map(p -> mapToDTO(
-                        p,
-                        customerClient.getCustomerByUserId(p.getCustomerUserId()),
-                        ownerClient.getOwnerByUserId(p.getOwnerUserId())
-                ))
-                .toList();
+        return mapAll(paymentRepo.findByCustomerUserId(customerUserId));
     }
 
     // ✅ OWNER PAYMENTS
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<PaymentResponseDTO> getPaymentsByOwner(Long ownerUserId) {
-        return paymentRepo.findByOwnerUserId(ownerUserId)
-                .stream()
-                .map(p -> mapToDTO(
-                        p,
-                        customerClient.getCustomerByUserId(p.getCustomerUserId()),
-                        ownerClient.getOwnerByUserId(p.getOwnerUserId())
-                ))
-                .toList();
+        return mapAll(paymentRepo.findByOwnerUserId(ownerUserId));
     }
 
     // ✅ UPDATE STATUS
+    // save() commits on its own, so the name lookups run with no DB connection held
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDTO updatePaymentStatus(Long id, String status) {
         Payment payment = paymentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
@@ -110,10 +143,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setStatus(status);
         Payment updated = paymentRepo.save(payment);
 
-        CustomerDTO customer = customerClient.getCustomerByUserId(updated.getCustomerUserId());
-        OwnerDTO owner = ownerClient.getOwnerByUserId(updated.getOwnerUserId());
-
-        return mapToDTO(updated, customer, owner);
+        return withNames(updated);
     }
 
     // ✅ DELETE
@@ -122,6 +152,140 @@ public class PaymentServiceImpl implements PaymentService {
         paymentRepo.deleteById(id);
     }
 
+    // ✅ BULK IMPORT
+    // Customers and owners are checked with one batch call per 1000 ids (both clients in
+    // parallel) before anything is written; the inserts then run in a single transaction.
+    // Leases are not checked: the main backend has no batch lease lookup.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int importPayments(List<PaymentRequestDTO> dtos) {
+
+        for (PaymentRequestDTO dto : dtos) {
+            if (dto.getLeaseId() == null || dto.getCustomerUserId() == null
+                    || dto.getOwnerUserId() == null || dto.getAmount() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "leaseId, customerUserId, ownerUserId and amount are required");
+            }
+        }
+
+        Set<Long> customerIds = dtos.stream().map(PaymentRequestDTO::getCustomerUserId).collect(Collectors.toSet());
+        Set<Long> ownerIds = dtos.stream().map(PaymentRequestDTO::getOwnerUserId).collect(Collectors.toSet());
+        var customerCall = remoteCalls.submit(() -> fetchAll(RemoteGuard.CUSTOMER, customerIds,
+                customerClient::getCustomersByUserIds, CustomerDTO::getUserId));
+        var ownerCall = remoteCalls.submit(() -> fetchAll(RemoteGuard.OWNER, ownerIds,
+                ownerClient::getOwnersByUserIds, OwnerDTO::getUserId));
+        requireAll("Customer", customerIds, RemoteCalls.await(customerCall));
+        requireAll("Owner", ownerIds, RemoteCalls.await(ownerCall));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            for (int i = 0; i < dtos.size(); i++) {
+                PaymentRequestDTO dto = dtos.get(i);
+
+                Payment payment = new Payment();
+                payment.setLeaseId(dto.getLeaseId());
+                payment.setCustomerUserId(dto.getCustomerUserId());
+                payment.setOwnerUserId(dto.getOwnerUserId());
+                payment.setAmount(dto.getAmount());
+                payment.setPaymentMethod(dto.getPaymentMethod());
+                payment.setStatus(dto.getStatus() == null ? "PAID" : dto.getStatus());
+                entityManager.persist(payment);
+
+                if ((i + 1) % IMPORT_CHUNK_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return dtos.size();
+    }
+
+    // ✅ STREAMED EXPORT
+    // Rows are cursor-fetched and written in chunks of EXPORT_CHUNK_SIZE; each chunk resolves
+    // names with the same batched, cached lookups as the list endpoints (names are left out
+    // if the main backend is down). Memory stays flat regardless of row count.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPayments(OutputStream out, ExportWriter.Format format) throws IOException {
+        try (Stream<Payment> rows = paymentRepo.streamAll();
+             ExportWriter<PaymentResponseDTO> writer =
+                     new ExportWriter<>(out, format, objectMapper, PaymentResponseDTO.class)) {
+
+            List<Payment> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Payment> it = rows.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !it.hasNext()) {
+                    for (PaymentResponseDTO dto : mapAll(chunk)) {
+                        writer.write(dto);
+                    }
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Strict batch lookup (no degraded mode): a failed chunk fails the import
+    private <T> Set<Long> fetchAll(String client, Set<Long> ids,
+                                   Function<Collection<Long>, List<T>> batchCall,
+                                   Function<T, Long> idOf) {
+        List<Long> pending = new ArrayList<>(ids);
+        Set<Long> found = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += MAX_LOOKUP_IDS) {
+            List<Long> chunk = pending.subList(from, Math.min(from + MAX_LOOKUP_IDS, pending.size()));
+            guard.call(client, () -> batchCall.apply(chunk)).forEach(item -> found.add(idOf.apply(item)));
+        }
+        return found;
+    }
+
+    private static void requireAll(String name, Set<Long> ids, Set<Long> found) {
+        ids.stream()
+                .filter(id -> !found.contains(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " not found: " + id);
+                });
+    }
+
+    // 🔁 SINGLE MAPPER: customer and owner resolved in parallel; a failed lookup leaves the name out
+    private PaymentResponseDTO withNames(Payment payment) {
+        var customerCall = remoteCalls.submit(() -> lookupCache.getCustomer(payment.getCustomerUserId()));
+        var ownerCall = remoteCalls.submit(() -> lookupCache.getOwner(payment.getOwnerUserId()));
+
+        return mapToDTO(payment,
+                RemoteCalls.awaitOr(customerCall, null),
+                RemoteCalls.awaitOr(ownerCall, null));
+    }
+
+    // 🔁 LIST MAPPER: names come from the near-cache; misses go out as one batch call per client,
+    // both clients in parallel
+    private List<PaymentResponseDTO> mapAll(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> customerIds = distinct(payments, Payment::getCustomerUserId);
+        Set<Long> ownerIds = distinct(payments, Payment::getOwnerUserId);
+        var customerCall = remoteCalls.submit(() -> lookupCache.getCustomers(customerIds));
+        var ownerCall = remoteCalls.submit(() -> lookupCache.getOwners(ownerIds));
+
+        Map<Long, CustomerDTO> customers = RemoteCalls.awaitOr(customerCall, Map.of());
+        Map<Long, OwnerDTO> owners = RemoteCalls.awaitOr(ownerCall, Map.of());
+
+        return payments.stream()
+                .map(p -> mapToDTO(p,
+                        customers.get(p.getCustomerUserId()),
+                        owners.get(p.getOwnerUserId())))
+                .toList();
+    }
+
+    private static Set<Long> distinct(List<Payment> payments, Function<Payment, Long> id) {
+        return payments.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
     // 🔁 MAPPER
     private PaymentResponseDTO mapToDTO(Payment p, CustomerDTO c, OwnerDTO o) {
 
@@ -135,8 +299,13 @@ public class PaymentServiceImpl implements PaymentService {
         dto.setStatus(p.getStatus());
         dto.setPaymentDate(p.getPaymentDate());
 
-        dto.setCustomerName(c.getFirstName() + " " + c.getLastName());
-        dto.setOwnerName(o.getFirstName() + " " + o.getLastName());
+        // Null when the user no longer exists or the main backend is unavailable
+        if (c != null) {
+            dto.setCustomerName(c.getFirstName() + " " + c.getLastName());
+        }
+        if (o != null) {
+            dto.setOwnerName(o.getFirstName() + " " + o.getLastName());
+        }
 
         return dto;
     }